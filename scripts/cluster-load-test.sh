@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Mede como a vazão escala com o número de instâncias no perfil "cluster", todas sobre o mesmo
+# banco H2 (o primeiro processo abre o arquivo e atende os demais por TCP). Os clientes do
+# LoadTestRunner são distribuídos entre as instâncias.
+# Uso: [NODES="1 2 3"] [HEAP=512m] [APP_ARGS="--chave=valor ..."] scripts/cluster-load-test.sh [concurrency] [duration-seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-200}"
+DURATION="${2:-30}"
+BASE_PORT="${PORT:-8091}"
+HEAP="${HEAP:-512m}"
+DATABASE="$PWD/target/cluster-load-test/beerstock"
+OUTPUT="target/cluster-load-test.jsonl"
+
+mvn -q -Pbenchmark test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile=target/load-test.classpath
+CLASSPATH="target/classes:target/test-classes:$(cat target/load-test.classpath)"
+rm -f "$OUTPUT"
+
+for COUNT in ${NODES:-1 2 3}; do
+    rm -rf "$(dirname "$DATABASE")"
+    PIDS=()
+    URLS=""
+    trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT
+    for NODE in $(seq 1 "$COUNT"); do
+        NODE_PORT=$((BASE_PORT + NODE - 1))
+        java -Xms"$HEAP" -Xmx"$HEAP" -Dspring.devtools.restart.enabled=false -cp "$CLASSPATH" \
+            one.digitalinnovation.beerstock.BeerstockApplication \
+            --spring.profiles.active=cluster --server.port="$NODE_PORT" --logging.level.root=WARN \
+            --spring.datasource.url="jdbc:h2:file:$DATABASE;AUTO_SERVER=TRUE;DB_CLOSE_ON_EXIT=FALSE" ${APP_ARGS:-} \
+            > "target/cluster-load-test-$COUNT-$NODE.log" 2>&1 &
+        PIDS+=($!)
+        URLS="${URLS:+$URLS,}http://localhost:$NODE_PORT"
+        # Uma por vez: a primeira cria o esquema e abre o servidor TCP que as outras usam.
+        until curl -sf "http://localhost:$NODE_PORT/actuator/health" > /dev/null; do
+            kill -0 "${PIDS[-1]}" 2>/dev/null || { cat "target/cluster-load-test-$COUNT-$NODE.log"; exit 1; }
+            sleep 1
+        done
+    done
+
+    java -cp "$CLASSPATH" one.digitalinnovation.beerstock.benchmark.LoadTestRunner \
+        url="$URLS" label="nodes-$COUNT" concurrency="$CONCURRENCY" duration="$DURATION" output="$OUTPUT"
+
+    kill "${PIDS[@]}"
+    wait "${PIDS[@]}" || true
+done
+
+echo "Resultados em $OUTPUT"
+cat "$OUTPUT"
@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# Compara vazão e latência p99 entre platform threads (padrão), virtual threads (perfil "virtual")
+# e a pilha reativa WebFlux + R2DBC (perfil "reactive"), todas com o mesmo heap.
+# Uso: [MODES="platform virtual reactive"] [HEAP=512m] [APP_ARGS="--chave=valor ..."] scripts/load-test.sh [concurrency] [duration-seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CONCURRENCY="${1:-400}"
+DURATION="${2:-30}"
+PORT="${PORT:-8089}"
+HEAP="${HEAP:-512m}"
+OUTPUT="target/load-test.jsonl"
+
+mvn -q -Pbenchmark test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile=target/load-test.classpath
+CLASSPATH="target/classes:target/test-classes:$(cat target/load-test.classpath)"
+rm -f "$OUTPUT"
+
+for MODE in ${MODES:-platform virtual reactive}; do
+    PROFILE=""
+    if [ "$MODE" = "virtual" ]; then
+        PROFILE="--spring.profiles.active=virtual"
+    elif [ "$MODE" = "reactive" ]; then
+        PROFILE="--spring.profiles.active=reactive --spring.r2dbc.url=r2dbc:h2:mem:///load-$MODE?options=DB_CLOSE_DELAY=-1"
+    fi
+    java -Xms"$HEAP" -Xmx"$HEAP" -XX:StartFlightRecording=filename="target/load-test-$MODE.jfr",settings=profile \
+        -Dspring.devtools.restart.enabled=false -cp "$CLASSPATH" \
+        one.digitalinnovation.beerstock.BeerstockApplication \
+        --server.port="$PORT" --logging.level.root=WARN \
+        --spring.datasource.url="jdbc:h2:mem:load-$MODE;DB_CLOSE_DELAY=-1" $PROFILE ${APP_ARGS:-} \
+        > "target/load-test-$MODE.log" 2>&1 &
+    APP_PID=$!
+    trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        kill -0 "$APP_PID" 2>/dev/null || { cat "target/load-test-$MODE.log"; exit 1; }
+        sleep 1
+    done
+
+    java -cp "$CLASSPATH" one.digitalinnovation.beerstock.benchmark.LoadTestRunner \
+        url="http://localhost:$PORT" label="$MODE" concurrency="$CONCURRENCY" duration="$DURATION" output="$OUTPUT"
+
+    kill "$APP_PID"
+    wait "$APP_PID" || true
+    PINNED=$(jfr print --events jdk.VirtualThreadPinned "target/load-test-$MODE.jfr" | grep -c "^jdk.VirtualThreadPinned" || true)
+    echo "$MODE: $PINNED eventos de pinning (jfr print --events jdk.VirtualThreadPinned target/load-test-$MODE.jfr)"
+done
+
+echo "Resultados em $OUTPUT"
+cat "$OUTPUT"
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Mede o tempo até a primeira requisição atendida e o RSS logo depois dela em cada modo de subida:
+# padrão, perfil "prod" (documentação lazy), prod + AOT, prod + CDS e prod + AOT + CDS.
+# Todos usam o jar fino e as dependências de target/fast-start, gerados por mvn -Pfast-start verify.
+# Uso: [MODES="default prod aot cds aot-cds"] [RUNS=5] [JAVA_OPTS="-Xmx512m"] scripts/startup-benchmark.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${RUNS:-5}"
+PORT="${PORT:-8090}"
+DIR="target/fast-start"
+OUTPUT="target/startup-benchmark.jsonl"
+
+mvn -q -Pfast-start verify
+# Arquivo CDS treinado sem AOT, para separar o ganho de cada técnica no modo "cds".
+(cd "$DIR" && java ${JAVA_OPTS:-} -XX:ArchiveClassesAtExit=beerstock-jit.jsa -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=prod -jar beerstock.jar > ../startup-benchmark-training.log 2>&1)
+rm -f "$OUTPUT"
+
+now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+for MODE in ${MODES:-default prod aot cds aot-cds}; do
+    case "$MODE" in
+        default) FLAGS="" ;;
+        prod)    FLAGS="-Dspring.profiles.active=prod" ;;
+        aot)     FLAGS="-Dspring.profiles.active=prod -Dspring.aot.enabled=true" ;;
+        cds)     FLAGS="-Dspring.profiles.active=prod -XX:SharedArchiveFile=beerstock-jit.jsa" ;;
+        aot-cds) FLAGS="-Dspring.profiles.active=prod -Dspring.aot.enabled=true -XX:SharedArchiveFile=beerstock.jsa" ;;
+        *) echo "Modo desconhecido: $MODE" >&2; exit 1 ;;
+    esac
+    for RUN in $(seq 1 "$RUNS"); do
+        START=$(now_millis)
+        (cd "$DIR" && exec java ${JAVA_OPTS:-} $FLAGS -Dserver.port="$PORT" -jar beerstock.jar) \
+            > "target/startup-benchmark-$MODE.log" 2>&1 &
+        APP_PID=$!
+        trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+        until curl -sf "http://localhost:$PORT/api/v1/beers" > /dev/null; do
+            kill -0 "$APP_PID" 2>/dev/null || { cat "target/startup-benchmark-$MODE.log"; exit 1; }
+            sleep 0.05
+        done
+        TTFR=$(( $(now_millis) - START ))
+        RSS=$(ps -o rss= -p "$APP_PID" | tr -d ' ')
+
+        kill "$APP_PID"
+        wait "$APP_PID" || true
+        echo "{\"mode\":\"$MODE\",\"run\":$RUN,\"timeToFirstRequestMillis\":$TTFR,\"rssKb\":$RSS}" | tee -a "$OUTPUT"
+    done
+done
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+echo "Medianas (modo, tempo até a primeira requisição em ms, RSS em MB):"
+for MODE in ${MODES:-default prod aot cds aot-cds}; do
+    RESULTS=$(grep "\"mode\":\"$MODE\"" "$OUTPUT")
+    TTFR=$(sed -E 's/.*Millis":([0-9]+).*/\1/' <<< "$RESULTS" | median)
+    RSS=$(sed -E 's/.*rssKb":([0-9]+).*/\1/' <<< "$RESULTS" | median)
+    printf "%-8s %6d %6d\n" "$MODE" "$TTFR" $(( RSS / 1024 ))
+done
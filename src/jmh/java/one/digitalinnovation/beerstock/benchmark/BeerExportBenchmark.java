@@ -0,0 +1,132 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.export.BeerPdfExporter;
+import one.digitalinnovation.beerstock.export.BeerXlsxExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports the whole catalog to a discarding stream. Besides the time, every iteration prints the
+ * memory the export kept alive: a sampler thread forces a full collection every
+ * {@code heapSampleMillis} and records the heap left in use, minus what was in use after setup
+ * (mostly the in-memory database). That figure should stay flat from 10k to 1M beers. The forced
+ * collections add to the reported time; pass {@code -p heapSampleMillis=0} for timing only.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Timeout(time = 60, timeUnit = TimeUnit.MINUTES)
+@State(Scope.Benchmark)
+public class BeerExportBenchmark {
+
+    @Param({"xlsx", "pdf"})
+    public String format;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    @Param({"500"})
+    public int heapSampleMillis;
+
+    private ConfigurableApplicationContext context;
+    private BeerXlsxExporter xlsxExporter;
+    private BeerPdfExporter pdfExporter;
+    private long baselineBytes;
+    private volatile long peakLiveBytes;
+    private volatile boolean sampling;
+    private Thread sampler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkCatalog.start("export-benchmark", catalogSize);
+        xlsxExporter = context.getBean(BeerXlsxExporter.class);
+        pdfExporter = context.getBean(BeerPdfExporter.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void startSampling() {
+        baselineBytes = liveBytes();
+        peakLiveBytes = baselineBytes;
+        if (heapSampleMillis > 0) {
+            sampling = true;
+            sampler = Thread.ofPlatform().daemon().name("heap-sampler").start(() -> {
+                while (sampling) {
+                    try {
+                        Thread.sleep(heapSampleMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    peakLiveBytes = Math.max(peakLiveBytes, liveBytes());
+                }
+            });
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() throws InterruptedException {
+        if (sampler != null) {
+            sampling = false;
+            sampler.interrupt();
+            sampler.join();
+            System.out.printf(Locale.ROOT, "%nexport format=%s catalogSize=%d baselineMb=%.1f retainedByExportMb=%.1f%n",
+                    format, catalogSize, baselineBytes / 1048576.0, (peakLiveBytes - baselineBytes) / 1048576.0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private static long liveBytes() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        if ("xlsx".equals(format)) {
+            xlsxExporter.export(out);
+        } else {
+            pdfExporter.export(out);
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
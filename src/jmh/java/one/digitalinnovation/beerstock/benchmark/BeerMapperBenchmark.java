@@ -0,0 +1,80 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerMapperBenchmark {
+
+    private static final int CONTENDED_THREADS = 4;
+
+    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+
+    private BeerDTO beerDTO;
+    private Beer beer;
+
+    @Setup
+    public void setUp() {
+        beerDTO = BenchmarkCatalog.beers(1).get(0);
+        beer = beerMapper.toModel(beerDTO);
+    }
+
+    @Benchmark
+    public BeerDTO toDTO() {
+        return beerMapper.toDTO(beer);
+    }
+
+    @Benchmark
+    public Beer toModel() {
+        return beerMapper.toModel(beerDTO);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public BeerDTO toDTOContended() {
+        return beerMapper.toDTO(beer);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Beer toModelContended() {
+        return beerMapper.toModel(beerDTO);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<BeerDTO> toDTOList(CatalogState catalog) {
+        return catalog.beers.stream().map(beerMapper::toDTO).toList();
+    }
+
+    @State(Scope.Benchmark)
+    public static class CatalogState {
+
+        private List<Beer> beers;
+
+        @Setup
+        public void setUp() {
+            beers = BenchmarkCatalog.beers(1_000).stream().map(BeerMapper.INSTANCE::toModel).toList();
+        }
+    }
+}
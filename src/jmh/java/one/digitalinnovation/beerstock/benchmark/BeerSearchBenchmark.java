@@ -0,0 +1,91 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.dto.BeerSearchResultDTO;
+import one.digitalinnovation.beerstock.search.BeerSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BeerSearchIndex} with a SQL {@code LIKE} query over the same H2 catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerSearchBenchmark {
+
+    @Param({"100000"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private BeerSearchIndex index;
+    private JdbcTemplate jdbcTemplate;
+    private String[] terms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkCatalog.start("search-benchmark", catalogSize);
+        index = context.getBean(BeerSearchIndex.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Random random = new Random(7);
+        terms = new String[2_000];
+        for (int i = 0; i < terms.length; i++) {
+            String word = (random.nextBoolean()
+                    ? BenchmarkCatalog.WORDS[random.nextInt(BenchmarkCatalog.WORDS.length)]
+                    : BenchmarkCatalog.STYLES[random.nextInt(BenchmarkCatalog.STYLES.length)]).toLowerCase(Locale.ROOT);
+            terms[i] = word.substring(0, 2 + random.nextInt(word.length() - 1));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BeerSearchResultDTO> index() {
+        return index.search(randomTerm(), 10);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<BeerSearchResultDTO> indexContended() {
+        return index.search(randomTerm(), 10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sqlLike() {
+        String pattern = "%" + randomTerm() + "%";
+        return jdbcTemplate.queryForList(
+                "select id, name, brand from beer where lower(name) like ? or lower(brand) like ? limit 10",
+                pattern, pattern);
+    }
+
+    private String randomTerm() {
+        return terms[ThreadLocalRandom.current().nextInt(terms.length)];
+    }
+}
@@ -0,0 +1,82 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link BeerDTO} lists the way the controller writes them: a single JSON
+ * array for {@code GET /api/v1/beers} and one document per line for the NDJSON stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerSerializationBenchmark {
+
+    private static final TypeReference<List<BeerDTO>> BEER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000", "100000"})
+    public int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<BeerDTO> beers;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        beers = BenchmarkCatalog.beers(catalogSize);
+        json = objectMapper.writeValueAsBytes(beers);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws IOException {
+        return objectMapper.writeValueAsBytes(beers);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] writeListContended() throws IOException {
+        return objectMapper.writeValueAsBytes(beers);
+    }
+
+    @Benchmark
+    public void writeNdjson() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (BeerDTO beer : beers) {
+                generator.writeObject(beer);
+            }
+            generator.writeRaw('\n');
+        }
+    }
+
+    @Benchmark
+    public List<BeerDTO> readList() throws IOException {
+        return objectMapper.readValue(json, BEER_LIST);
+    }
+}
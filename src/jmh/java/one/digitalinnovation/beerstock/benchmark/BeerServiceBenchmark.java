@@ -0,0 +1,134 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link BeerService} against H2 with each stock store. The contended variants either share one
+ * hot beer between all threads or give every thread its own row. Warmup is longer than in the
+ * other benchmarks because the JPA path needs a lot of JIT work before it settles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 4)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerServiceBenchmark {
+
+    private static final int CONTENDED_THREADS = 8;
+
+    @Param({"atomic", "counter-engine", "ledger"})
+    public String stockMode;
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    /** Only affects the atomic store; pass {@code -p coalescing=false,true} to compare. */
+    @Param({"false"})
+    public boolean coalescing;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private List<BeerDTO> beers;
+    private final AtomicInteger nextBeer = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkCatalog.start("service-benchmark-" + stockMode, catalogSize,
+                "beerstock.stock.mode=" + stockMode,
+                "beerstock.stock.coalescing.enabled=" + coalescing);
+        beerService = context.getBean(BeerService.class);
+        beers = beerService.listAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDTO findByName() throws BeerNotFoundException {
+        return beerService.findByName(randomBeer().getName());
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public BeerDTO findByNameContended() throws BeerNotFoundException {
+        return beerService.findByName(randomBeer().getName());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BeerDTO> listAll() {
+        return beerService.listAll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BeerDTO> listAllContended() {
+        return beerService.listAll();
+    }
+
+    @Benchmark
+    public BeerDTO incrementDecrement(OwnBeer own) throws BeerNotFoundException, BeerStockExceededException {
+        return incrementDecrement(own.id);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public BeerDTO incrementDecrementOwnBeer(OwnBeer own) throws BeerNotFoundException, BeerStockExceededException {
+        return incrementDecrement(own.id);
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public BeerDTO incrementDecrementSharedBeer() throws BeerNotFoundException, BeerStockExceededException {
+        return incrementDecrement(beers.get(0).getId());
+    }
+
+    private BeerDTO incrementDecrement(Long id) throws BeerNotFoundException, BeerStockExceededException {
+        beerService.increment(id, 1);
+        return beerService.decrement(id, 1);
+    }
+
+    private BeerDTO randomBeer() {
+        return beers.get(ThreadLocalRandom.current().nextInt(beers.size()));
+    }
+
+    @State(Scope.Thread)
+    public static class OwnBeer {
+
+        private Long id;
+
+        @Setup(Level.Trial)
+        public void setUp(BeerServiceBenchmark benchmark) {
+            // Index 0 is the shared hot beer; every thread gets its own row after it.
+            int index = 1 + benchmark.nextBeer.getAndIncrement() % (benchmark.beers.size() - 1);
+            id = benchmark.beers.get(index).getId();
+        }
+    }
+}
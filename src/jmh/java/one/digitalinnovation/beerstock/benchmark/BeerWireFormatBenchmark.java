@@ -0,0 +1,81 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of the full catalog in each format {@code GET /api/v1/beers} negotiates,
+ * with the binary mappers configured like {@code BinaryFormatConfig}. The payload size of every
+ * format and catalog size is printed once per trial, since JMH only reports time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class BeerWireFormatBenchmark {
+
+    private static final TypeReference<List<BeerDTO>> BEER_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ObjectMapper objectMapper;
+    private List<BeerDTO> beers;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor()
+                    .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                    .build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile()
+                    .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                    .featuresToEnable(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        beers = BenchmarkCatalog.beers(catalogSize);
+        payload = objectMapper.writeValueAsBytes(beers);
+        System.out.printf(Locale.ROOT, "%npayload format=%s catalogSize=%d bytes=%d bytesPerBeer=%.1f%n",
+                format, catalogSize, payload.length, payload.length / (double) catalogSize);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(beers);
+    }
+
+    @Benchmark
+    public List<BeerDTO> decode() throws IOException {
+        return objectMapper.readValue(payload, BEER_LIST);
+    }
+}
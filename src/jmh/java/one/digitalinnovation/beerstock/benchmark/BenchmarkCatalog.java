@@ -0,0 +1,68 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerImportService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic beer catalogs and application contexts shared by the benchmarks.
+ */
+final class BenchmarkCatalog {
+
+    static final String[] STYLES = {"Lager", "Pilsen", "Weiss", "Stout", "Porter", "Ale", "Ipa", "Bock", "Dunkel", "Saison"};
+    static final String[] WORDS = {"Golden", "Dark", "Royal", "Hoppy", "Wild", "Tropical", "Imperial", "Session",
+            "Smoked", "Citrus", "Coffee", "Honey", "Amber", "Rustic", "Nordic", "Coastal"};
+    static final String[] BRANDS = {"Ambev", "Heineken", "Colorado", "Baden Baden", "Eisenbahn", "Bohemia", "Wals", "Praiana"};
+
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private BenchmarkCatalog() {
+    }
+
+    static List<BeerDTO> beers(int size) {
+        Random random = new Random(42);
+        List<BeerDTO> beers = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            beers.add(BeerDTO.builder()
+                    .id(id)
+                    .name(WORDS[random.nextInt(WORDS.length)] + " " + STYLES[random.nextInt(STYLES.length)] + " " + id)
+                    .brand(BRANDS[random.nextInt(BRANDS.length)])
+                    .max(500)
+                    .quantity(50)
+                    .type(TYPES[random.nextInt(TYPES.length)])
+                    .build());
+        }
+        return beers;
+    }
+
+    /**
+     * Starts the application without a web server on a private in-memory database and loads
+     * {@code size} beers through the bulk import, so stock stores and indexes see them as usual.
+     */
+    static ConfigurableApplicationContext start(String database, int size, String... properties) throws IOException {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "spring.devtools.restart.enabled=false",
+                "logging.level.root=WARN"));
+        all.addAll(List.of(properties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+
+        byte[] json = new ObjectMapper().writeValueAsBytes(beers(size));
+        context.getBean(BeerImportService.class).importJson(new ByteArrayInputStream(json));
+        return context;
+    }
+}
@@ -0,0 +1,96 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.config.IdempotencyProperties;
+import one.digitalinnovation.beerstock.idempotency.IdempotencyStore;
+import one.digitalinnovation.beerstock.idempotency.StoredResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up idempotency keys in a store holding {@code keys} responses the size of a stock
+ * movement's, and prints the heap each stored key retains.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class IdempotencyStoreBenchmark {
+
+    private static final byte[] BODY = ("{\"id\":123456,\"name\":\"Brahma Chopp Pilsen 123456\",\"brand\":\"Ambev\","
+            + "\"max\":500,\"quantity\":137,\"type\":\"LAGER\"}").getBytes(StandardCharsets.UTF_8);
+
+    @Param({"100000", "1000000"})
+    public int keys;
+
+    private IdempotencyStore store;
+    private String[] stored;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxStoreSize(DataSize.ofBytes((long) keys * 1024));
+        stored = new String[keys];
+
+        // The keys are counted too: the store holds on to the header value of each request.
+        long before = usedHeapAfterGc();
+        store = new IdempotencyStore(properties, new SimpleMeterRegistry());
+        String contentType = "application/json";
+        for (int i = 0; i < keys; i++) {
+            stored[i] = UUID.randomUUID().toString();
+            long requestHash = ("PATCH /api/v1/beers/" + i + "/decrement").hashCode();
+            store.finish(stored[i], new CompletableFuture<>(),
+                    new StoredResponse(requestHash, 200, contentType, BODY.clone()));
+        }
+        long retained = usedHeapAfterGc() - before;
+        // Less the lookup array, which only this benchmark keeps.
+        retained -= (long) keys * 4;
+        System.out.printf("%n%d keys retain %.1f MB, %d bytes each (%d of them the %d-byte response body)%n",
+                keys, retained / 1e6, retained / keys, BODY.length + 16, BODY.length);
+    }
+
+    @Benchmark
+    public StoredResponse replay() {
+        return store.find(stored[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public StoredResponse replayContended() {
+        return store.find(stored[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    public StoredResponse miss() {
+        return store.find(UUID.randomUUID().toString());
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
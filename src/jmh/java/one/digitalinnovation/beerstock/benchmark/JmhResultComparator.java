@@ -0,0 +1,79 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and exits with status 1 when any benchmark present in both
+ * got slower than the allowed tolerance and by more than the combined error margins of both runs.
+ * Usage: {@code JmhResultComparator <baseline.json> <current.json> [tolerancePercent]}.
+ */
+public class JmhResultComparator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: JmhResultComparator <baseline.json> <current.json> [tolerancePercent]");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            double noise = error(before) + error(entry.getValue());
+            String unit = entry.getValue().path("primaryMetric").path("scoreUnit").asText();
+            // Throughput grows when things get faster; every other mode measures time.
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            boolean regressed = (higherIsBetter ? change < -tolerance : change > tolerance)
+                    && Math.abs(newScore - oldScore) > noise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-4s %-90s %12.3f -> %12.3f %-8s %+7.1f%%%n",
+                    regressed ? "FAIL" : "ok", entry.getKey(), oldScore, newScore, unit, change);
+        }
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, tolerance);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static double error(JsonNode result) {
+        // JMH reports NaN when there are too few iterations to compute a confidence interval.
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isFinite(error) ? error : 0;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                .append(" t=").append(result.path("threads").asInt());
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+        fields.forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+}
@@ -0,0 +1,209 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running instance: {@code concurrency} clients repeatedly read a
+ * beer by name (80%) or move its stock by one unit (20%). Prints throughput and latency percentiles
+ * and appends them as one JSON line to {@code output}, so runs in different modes can be compared.
+ * Requests refused by admission control ({@code 429} and {@code 503}) are counted as rejected and
+ * left out of the latency percentiles.
+ * Arguments are {@code key=value}: url, label, concurrency, warmup and duration (seconds), beers, output.
+ * {@code url} may list several instances separated by commas; each client sticks to one of them.
+ */
+public class LoadTestRunner {
+
+    private static final String PREFIX = "Load Beer ";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final String url;
+    private final List<String> urls;
+
+    private LoadTestRunner(String urls) {
+        this.urls = Arrays.stream(urls.split(",")).map(url -> url.trim() + "/api/v1/beers").toList();
+        this.url = this.urls.get(0);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080",
+                "label", "run",
+                "concurrency", "400",
+                "warmup", "10",
+                "duration", "30",
+                "beers", "1000",
+                "output", "target/load-test.jsonl"));
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair[1]);
+        }
+
+        LoadTestRunner runner = new LoadTestRunner(options.get("url"));
+        List<BeerDTO> beers = runner.seed(Integer.parseInt(options.get("beers")));
+        Map<String, Object> result = runner.run(beers,
+                Integer.parseInt(options.get("concurrency")),
+                Duration.ofSeconds(Long.parseLong(options.get("warmup"))),
+                Duration.ofSeconds(Long.parseLong(options.get("duration"))));
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("label", options.get("label"));
+        line.putAll(result);
+        System.out.println(line);
+        Path output = Path.of(options.get("output"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, runner.objectMapper.writeValueAsString(line) + "\n",
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private List<BeerDTO> seed(int size) throws IOException, InterruptedException {
+        List<BeerDTO> beers = BenchmarkCatalog.beers(size);
+        beers.forEach(beer -> {
+            beer.setId(null);
+            beer.setName(PREFIX + beer.getName());
+        });
+        int status = send(HttpRequest.newBuilder(URI.create(url + "/import"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(beers)))).statusCode();
+        if (status != 200) {
+            // The reactive stack has no bulk import, so beers are created one by one.
+            for (BeerDTO beer : beers) {
+                send(HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(beer))));
+            }
+        }
+
+        List<BeerDTO> seeded = new ArrayList<>(size);
+        JsonNode all = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(url)).GET()).body());
+        for (JsonNode beer : all) {
+            if (beer.path("name").asText().startsWith(PREFIX)) {
+                seeded.add(objectMapper.treeToValue(beer, BeerDTO.class));
+            }
+        }
+        return seeded;
+    }
+
+    private Map<String, Object> run(List<BeerDTO> beers, int concurrency, Duration warmup, Duration duration)
+            throws Exception {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                String url = urls.get(i % urls.size());
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < stopAt) {
+                        BeerDTO beer = beers.get(random.nextInt(beers.size()));
+                        long start = System.nanoTime();
+                        boolean admitted = true;
+                        try {
+                            int status = random.nextInt(10) < 8 ? read(url, beer) : move(url, beer, random.nextBoolean());
+                            // 400 is an expected stock rejection, not a failure of the server.
+                            if (status == 429 || status == 503) {
+                                admitted = false;
+                                if (start >= measureFrom) {
+                                    rejected.incrementAndGet();
+                                }
+                            } else if (status >= 500 || status == 409) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        if (admitted && start >= measureFrom) {
+                            if (count == latencies.length) {
+                                latencies = Arrays.copyOf(latencies, count * 2);
+                            }
+                            latencies[count++] = System.nanoTime() - start;
+                        }
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        Arrays.sort(all);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("concurrency", concurrency);
+        result.put("requests", all.length);
+        result.put("errors", errors.get());
+        result.put("rejected", rejected.get());
+        result.put("throughput", round(all.length / (double) duration.toSeconds()));
+        result.put("p50Millis", percentile(all, 0.50));
+        result.put("p99Millis", percentile(all, 0.99));
+        result.put("p999Millis", percentile(all, 0.999));
+        result.put("maxMillis", all.length == 0 ? 0 : round(all[all.length - 1] / 1e6));
+        return result;
+    }
+
+    private int read(String url, BeerDTO beer) throws IOException, InterruptedException {
+        String name = URLEncoder.encode(beer.getName(), StandardCharsets.UTF_8).replace("+", "%20");
+        return send(HttpRequest.newBuilder(URI.create(url + "/" + name)).GET()).statusCode();
+    }
+
+    private int move(String url, BeerDTO beer, boolean increment) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(url + "/" + beer.getId() + (increment ? "/increment" : "/decrement")))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":1}"))).statusCode();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return round(sorted[Math.max(index, 0)] / 1e6);
+    }
+
+    private static double round(double value) {
+        return Double.parseDouble(String.format(Locale.ROOT, "%.2f", value));
+    }
+}
@@ -0,0 +1,75 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same {@link BeerService} calls with {@code beerstock.metrics.enabled} on and off, to keep the
+ * cost of the service timers, repository/mapping split and error counters visible.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 4)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"true", "false"})
+    public boolean metricsEnabled;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private List<BeerDTO> beers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkCatalog.start("metrics-benchmark-" + metricsEnabled, 1_000,
+                "beerstock.metrics.enabled=" + metricsEnabled);
+        beerService = context.getBean(BeerService.class);
+        beers = beerService.listAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDTO findByName() throws BeerNotFoundException {
+        return beerService.findByName(beers.get(ThreadLocalRandom.current().nextInt(beers.size())).getName());
+    }
+
+    @Benchmark
+    public BeerDTO incrementDecrement() throws BeerNotFoundException, BeerStockExceededException {
+        Long id = beers.get(ThreadLocalRandom.current().nextInt(beers.size())).getId();
+        beerService.increment(id, 1);
+        return beerService.decrement(id, 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<BeerDTO> listAll() {
+        return beerService.listAll();
+    }
+}
@@ -0,0 +1,94 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.config.ReservationProperties;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.reservation.StockReservations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places and cancels one hold while {@code outstanding} others wait in the timing wheel, and
+ * prints the heap each outstanding hold retains.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class StockReservationsBenchmark {
+
+    private static final int BEERS = 1_000;
+
+    @Param({"100000", "500000"})
+    public int outstanding;
+
+    private StockReservations reservations;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setMaxOutstanding(outstanding + 1_000);
+        reservations = new StockReservations(properties, new SimpleMeterRegistry());
+        reservations.start();
+
+        long before = usedHeapAfterGc();
+        for (int i = 0; i < outstanding; i++) {
+            // Spread over the whole TTL range, so every level of the wheel holds some of them.
+            Duration ttl = Duration.ofSeconds(60 + ThreadLocalRandom.current().nextInt(3_540));
+            reservations.reserve((long) (i % BEERS), 1, ttl, () -> Integer.MAX_VALUE);
+        }
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%n%d outstanding holds retain %.1f MB, %d bytes each%n",
+                outstanding, retained / 1e6, retained / outstanding);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reservations.stop();
+    }
+
+    @Benchmark
+    public ReservationDTO reserveAndCancel() throws Exception {
+        return reserveAndCancelOne();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ReservationDTO reserveAndCancelContended() throws Exception {
+        return reserveAndCancelOne();
+    }
+
+    private ReservationDTO reserveAndCancelOne() throws Exception {
+        Long beerId = (long) ThreadLocalRandom.current().nextInt(BEERS);
+        ReservationDTO reservation = reservations.reserve(beerId, 1, null, () -> Integer.MAX_VALUE);
+        reservations.cancel(beerId, reservation.getId());
+        return reservation;
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,149 @@
+package one.digitalinnovation.beerstock.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import one.digitalinnovation.beerstock.config.AdmissionProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for {@code /api/v1/beers}. A client over its read or write budget gets
+ * {@code 429} with {@code Retry-After}; once every client is within budget, requests beyond the
+ * adaptive concurrency limit get {@code 503}, so overload is shed before it queues on the
+ * Hikari pool and H2.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "beerstock.admission", name = "enabled", havingValue = "true")
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/v1/beers";
+
+    private final AdmissionProperties properties;
+    private final Cache<String, ClientBudget> clients;
+    private final AimdLimiter limiter;
+    private final Counter readsThrottled;
+    private final Counter writesThrottled;
+    private final Counter shed;
+
+    public AdmissionFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+        this.limiter = properties.getConcurrency().isEnabled() ? new AimdLimiter(properties.getConcurrency()) : null;
+        Gauge.builder("beerstock.admission.clients", clients, Cache::estimatedSize)
+                .description("Clients with a request budget")
+                .register(meterRegistry);
+        if (limiter != null) {
+            Gauge.builder("beerstock.admission.concurrency.limit", limiter, AimdLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("beerstock.admission.concurrency.in.flight", limiter, AimdLimiter::inFlight)
+                    .description("Requests admitted and not finished")
+                    .register(meterRegistry);
+        }
+        this.readsThrottled = rejected(meterRegistry, "rate-limit", "read");
+        this.writesThrottled = rejected(meterRegistry, "rate-limit", "write");
+        this.shed = rejected(meterRegistry, "overload", "any");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason, String kind) {
+        return Counter.builder("beerstock.admission.rejected")
+                .description("Requests refused by admission control")
+                .tag("reason", reason)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        long now = System.nanoTime();
+        ClientBudget budget = clients.get(clientId(request, properties.getClientHeader()), client -> new ClientBudget(properties, now));
+        long wait = (read ? budget.read : budget.write).tryAcquire(now);
+        if (wait > 0) {
+            (read ? readsThrottled : writesThrottled).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, "Request budget exceeded for this client.");
+            return;
+        }
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        int inFlightBefore = limiter.tryAcquire();
+        if (inFlightBefore < 0) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), "Server overloaded, retry later.");
+            return;
+        }
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() == HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.release(inFlightBefore, route(request), System.nanoTime() - now, failed, !request.isAsyncStarted());
+        }
+    }
+
+    /**
+     * The API key in {@code clientHeader}, or the remote address for requests without one. Shared
+     * with the idempotency filter, so a client's keys are scoped the same way as its budget.
+     */
+    public static String clientId(HttpServletRequest request, String clientHeader) {
+        String apiKey = request.getHeader(clientHeader);
+        return apiKey == null || apiKey.isBlank() ? "addr:" + request.getRemoteAddr() : "key:" + apiKey;
+    }
+
+    /**
+     * The handler pattern the request matched, so {@code /api/v1/beers/1} and {@code /api/v1/beers/2}
+     * share one latency baseline.
+     */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? "unmatched" : pattern);
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, String message)
+            throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1)));
+        response.sendError(status.value(), message);
+    }
+
+    private static final class ClientBudget {
+
+        private final TokenBucket read;
+        private final TokenBucket write;
+
+        private ClientBudget(AdmissionProperties properties, long nowNanos) {
+            this.read = new TokenBucket(properties.getRead().getRate(), properties.getRead().getBurst(), nowNanos);
+            this.write = new TokenBucket(properties.getWrite().getRate(), properties.getWrite().getBurst(), nowNanos);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package one.digitalinnovation.beerstock.admission;
+
+import one.digitalinnovation.beerstock.config.AdmissionProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive concurrency limit (additive increase, multiplicative decrease). Requests beyond the
+ * limit are refused instead of queueing for the connection pool. Each request that completes in
+ * time while at least half of the limit was in use adds {@code 1 / limit}, about one per round of
+ * requests; each slow or failed one multiplies the limit by the backoff ratio. Both the limit and
+ * the in-flight count are updated by compare-and-set.
+ * <p>
+ * Slow means above the latency threshold and also well above the usual latency of the same route,
+ * kept as a moving average per route, so endpoints that are slow by design (an import, a full
+ * listing) do not shrink the limit on an idle server.
+ */
+final class AimdLimiter {
+
+    // Each sample moves a route's baseline 1/16 of the way towards it.
+    private static final int BASELINE_WEIGHT = 16;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double baselineTolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    // Keyed by route pattern, never by raw URI, so it holds one entry per endpoint.
+    private final Map<String, AtomicLong> baselineNanos = new ConcurrentHashMap<>();
+
+    AimdLimiter(AdmissionProperties.Concurrency properties) {
+        this.minLimit = Math.max(1, properties.getMinLimit());
+        this.maxLimit = Math.max(minLimit, properties.getMaxLimit());
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.baselineTolerance = properties.getBaselineTolerance();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(
+                Math.min(maxLimit, Math.max(minLimit, properties.getInitialLimit()))));
+    }
+
+    /**
+     * @return the number of requests in flight before this one, or -1 if the limit is reached
+     */
+    int tryAcquire() {
+        int limit = limit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot. An async request, whose response is still being written when it returns
+     * here, passes {@code sample = false} and leaves the limit alone.
+     */
+    void release(int inFlightBefore, String route, long latencyNanos, boolean failed, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample) {
+            return;
+        }
+        boolean overloaded = slow(route, latencyNanos) || failed;
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (overloaded) {
+                next = Math.max(minLimit, limit * backoffRatio);
+            } else if ((inFlightBefore + 1) * 2 >= limit) {
+                next = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Compares the latency with the route's baseline before folding it in. The first sample of a
+     * route only sets its baseline.
+     */
+    private boolean slow(String route, long latencyNanos) {
+        long baseline = baselineNanos.computeIfAbsent(route, key -> new AtomicLong())
+                .getAndUpdate(current -> current == 0 ? latencyNanos : current + (latencyNanos - current) / BASELINE_WEIGHT);
+        return baseline != 0 && latencyNanos > latencyThresholdNanos && latencyNanos > baseline * baselineTolerance;
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerstock.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in its GCRA form: instead of a token count refilled over time, it keeps the
+ * theoretical arrival time of the next request at the sustained rate, so taking a token is a
+ * single compare-and-set on one long.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        this.theoreticalArrival = new AtomicLong(nowNanos - capacityNanos);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanos until one will be available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos - capacityNanos) + intervalNanos;
+            long wait = next - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package one.digitalinnovation.beerstock.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import one.digitalinnovation.beerstock.config.BeerCacheProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of beers by name. Entries expire after {@code ttl}; misses are
+ * remembered for {@code negative-ttl} when negative caching is enabled. Hit, miss and eviction
+ * counters are published as {@code cache.*} metrics with {@code cache=beersByName}.
+ * <p>
+ * Loads run outside the cache's compute lock, so a virtual thread waiting on the database never
+ * pins its carrier. Concurrent misses for the same name still share a single load.
+ */
+@Component
+public class BeerNameCache {
+
+    private final BeerCacheProperties properties;
+    private final Cache<String, Optional<BeerSnapshot>> cache;
+    private final Map<String, CompletableFuture<Optional<BeerSnapshot>>> loads = new ConcurrentHashMap<>();
+
+    public BeerNameCache(BeerCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Optional<BeerSnapshot>>() {
+                    @Override
+                    public long expireAfterCreate(String name, Optional<BeerSnapshot> beer, long currentTime) {
+                        return (beer.isPresent() ? properties.getTtl() : properties.getNegativeTtl()).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String name, Optional<BeerSnapshot> beer, long currentTime, long currentDuration) {
+                        return expireAfterCreate(name, beer, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String name, Optional<BeerSnapshot> beer, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "beersByName");
+    }
+
+    public Optional<BeerDTO> get(String name, Function<String, Optional<BeerDTO>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(name);
+        }
+        Optional<BeerSnapshot> cached = cache.getIfPresent(name);
+        if (cached != null) {
+            return cached.map(BeerSnapshot::toDTO);
+        }
+        CompletableFuture<Optional<BeerSnapshot>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<BeerSnapshot>> inFlight = loads.putIfAbsent(name, load);
+        if (inFlight != null) {
+            return await(inFlight).map(BeerSnapshot::toDTO);
+        }
+        try {
+            Optional<BeerSnapshot> loaded = loader.apply(name).map(BeerSnapshot::of);
+            if (loaded.isPresent() || properties.isNegativeCaching()) {
+                cache.put(name, loaded);
+            }
+            // An eviction that raced with this load removed the in-flight entry; drop what we stored.
+            if (!loads.remove(name, load)) {
+                cache.invalidate(name);
+            }
+            load.complete(loaded);
+            return loaded.map(BeerSnapshot::toDTO);
+        } catch (RuntimeException e) {
+            loads.remove(name, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Optional<BeerSnapshot> await(CompletableFuture<Optional<BeerSnapshot>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void put(BeerDTO beerDTO) {
+        if (properties.isEnabled()) {
+            cache.put(beerDTO.getName(), Optional.of(BeerSnapshot.of(beerDTO)));
+        }
+    }
+
+    public void evict(String name) {
+        loads.remove(name);
+        cache.invalidate(name);
+    }
+
+    public void evictAll() {
+        loads.clear();
+        cache.invalidateAll();
+    }
+}
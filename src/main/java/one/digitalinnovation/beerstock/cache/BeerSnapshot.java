@@ -0,0 +1,19 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+/**
+ * Immutable copy of a {@link BeerDTO}, so cached values can not be changed by callers.
+ */
+public record BeerSnapshot(Long id, String name, String brand, Integer max, Integer quantity, BeerType type) {
+
+    public static BeerSnapshot of(BeerDTO beerDTO) {
+        return new BeerSnapshot(beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand(),
+                beerDTO.getMax(), beerDTO.getQuantity(), beerDTO.getType());
+    }
+
+    public BeerDTO toDTO() {
+        return new BeerDTO(id, name, brand, max, quantity, type);
+    }
+}
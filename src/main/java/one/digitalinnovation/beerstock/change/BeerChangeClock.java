@@ -0,0 +1,160 @@
+package one.digitalinnovation.beerstock.change;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out the change versions stamped on beers and tombstones. Versions are allocated before
+ * their transaction commits, so they can become visible out of order; {@link #stableVersion()}
+ * is the highest version below which every allocated version has already committed or rolled
+ * back, and readers of changes must not go past it.
+ * <p>
+ * In cluster mode the versions come from a database sequence shared by every instance instead,
+ * and the stable version is whatever {@code ClusterSync} last settled.
+ */
+@Component
+public class BeerChangeClock {
+
+    private static final String MAX_VERSION = "select greatest("
+            + "(select coalesce(max(change_version), 0) from beer), "
+            + "(select coalesce(max(change_version), 0) from beer_tombstone))";
+    private static final String SEQUENCE = "beer_change_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private final NavigableSet<Long> allocatedHere = new ConcurrentSkipListSet<>();
+    private final AtomicLong current = new AtomicLong(-1);
+    private volatile boolean shared;
+    private long settled;
+
+    public BeerChangeClock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Allocates a version for a write in the current transaction; it stays in flight until the
+     * transaction completes.
+     */
+    public long next() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Beer change versions must be allocated inside a transaction");
+        }
+        long version = shared ? allocateShared() : allocate();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(version);
+            }
+        });
+        return version;
+    }
+
+    /**
+     * Allocates a version for a single statement run outside a Spring transaction, as the reactive
+     * repository does. It stays in flight until the caller passes it to {@link #complete(long)}.
+     */
+    public long nextUnmanaged() {
+        return shared ? allocateShared() : allocate();
+    }
+
+    public void complete(long version) {
+        release(version);
+    }
+
+    public synchronized long stableVersion() {
+        long version = shared ? settled : seeded();
+        return inFlight.isEmpty() ? version : Math.min(version, inFlight.first() - 1);
+    }
+
+    /**
+     * Moves the clock for a stock change held in memory until a store writes it behind, so the
+     * catalog ETag changes right away. No row carries the version; the beer shows up in the
+     * changes feed once the write-behind stamps its row.
+     */
+    public void touch() {
+        if (current.get() < 0) {
+            synchronized (this) {
+                seeded();
+            }
+        }
+        current.incrementAndGet();
+    }
+
+    /**
+     * Switches to the shared sequence, created to start above every version already stored.
+     *
+     * @return the highest version stored so far
+     */
+    public synchronized long share() {
+        long version = seeded();
+        // DDL takes no bind parameters; "if not exists" covers instances starting together.
+        jdbcTemplate.execute("create sequence if not exists " + SEQUENCE + " start with " + (version + 1));
+        settled = version;
+        shared = true;
+        return version;
+    }
+
+    /**
+     * Moves the stable version of a shared clock and forgets which versions up to it were
+     * allocated here.
+     */
+    public synchronized void settle(long version) {
+        settled = Math.max(settled, version);
+        allocatedHere.headSet(settled, true).clear();
+    }
+
+    /**
+     * Versions above {@code after} and up to {@code upTo} allocated by this instance since they
+     * were last settled, committed or not.
+     */
+    public int allocatedHereBetween(long after, long upTo) {
+        return after >= upTo ? 0 : allocatedHere.subSet(after, false, upTo, true).size();
+    }
+
+    public boolean allocatedHere(long version) {
+        return allocatedHere.contains(version);
+    }
+
+    /**
+     * The highest version committed to the tables, read from the database on every call.
+     */
+    public long storedVersion() {
+        Long max = jdbcTemplate.queryForObject(MAX_VERSION, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    private synchronized long allocate() {
+        seeded();
+        long version = current.incrementAndGet();
+        inFlight.add(version);
+        return version;
+    }
+
+    private long allocateShared() {
+        Long version = jdbcTemplate.queryForObject("select next value for " + SEQUENCE, Long.class);
+        allocatedHere.add(version);
+        synchronized (this) {
+            inFlight.add(version);
+        }
+        return version;
+    }
+
+    private synchronized void release(long version) {
+        inFlight.remove(version);
+    }
+
+    // Seeded lazily: the clock is created while Hibernate is still building the schema it reads.
+    private long seeded() {
+        if (current.get() < 0) {
+            current.set(storedVersion());
+        }
+        return current.get();
+    }
+}
@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerstock.change;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import one.digitalinnovation.beerstock.entity.Beer;
+
+/**
+ * Stamps a new change version on every beer Hibernate inserts or finds dirty at flush, which
+ * covers creates, imports and stock written through managed entities.
+ */
+public class BeerChangeListener {
+
+    private final BeerChangeClock beerChangeClock;
+
+    public BeerChangeListener(BeerChangeClock beerChangeClock) {
+        this.beerChangeClock = beerChangeClock;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(Beer beer) {
+        beer.setChangeVersion(beerChangeClock.next());
+    }
+}
@@ -0,0 +1,168 @@
+package one.digitalinnovation.beerstock.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.change.BeerChangeClock;
+import one.digitalinnovation.beerstock.config.ClusterProperties;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.BeerTombstone;
+import one.digitalinnovation.beerstock.lowstock.LowStockIndex;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.BeerTombstoneRepository;
+import one.digitalinnovation.beerstock.search.BeerSearchIndex;
+import one.digitalinnovation.beerstock.stats.InventoryRollups;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets several instances share one database. Stock is already kept consistent by the database
+ * (conditional updates, row locks and {@code @Version}); what each instance holds in memory is
+ * only fed by its own writes, so this polls the rows and tombstones stamped with change versions
+ * allocated elsewhere and applies them to the name cache, the search and low-stock indexes, and,
+ * at most every {@code rollup-refresh}, to the inventory rollups by rebuilding them. Rollups with
+ * no remote change are checked against the database at that pace instead, and rebuilt if they
+ * drifted, which a rebuild racing this instance's own changes can leave behind.
+ * <p>
+ * A version is settled once it was stored for longer than {@code settle-window}: every version
+ * below it has committed or rolled back by then, wherever it was allocated. Rows above the
+ * settled version are read again on every poll, so one committing late is not missed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "beerstock.cluster", name = "enabled", havingValue = "true")
+public class ClusterSync {
+
+    private final ClusterProperties properties;
+    private final BeerChangeClock beerChangeClock;
+    private final BeerRepository beerRepository;
+    private final BeerTombstoneRepository beerTombstoneRepository;
+    private final BeerMapper beerMapper;
+    private final BeerNameCache beerNameCache;
+    private final BeerSearchIndex beerSearchIndex;
+    private final LowStockIndex lowStockIndex;
+    private final InventoryRollups inventoryRollups;
+    private final Counter remoteChanges;
+    // Only touched by the sync thread.
+    private final Deque<long[]> storedSamples = new ArrayDeque<>();
+    private final ScheduledExecutorService syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "beer-cluster-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long settled;
+    private long lastStored;
+    private boolean rollupsStale;
+    private long rollupsRefreshedAt = System.nanoTime();
+
+    public ClusterSync(ClusterProperties properties, StockProperties stockProperties, BeerChangeClock beerChangeClock,
+                       BeerRepository beerRepository, BeerTombstoneRepository beerTombstoneRepository,
+                       BeerMapper beerMapper, BeerNameCache beerNameCache, BeerSearchIndex beerSearchIndex,
+                       LowStockIndex lowStockIndex, InventoryRollups inventoryRollups, MeterRegistry meterRegistry) {
+        if (stockProperties.getMode() != StockProperties.Mode.ATOMIC) {
+            throw new IllegalStateException("Cluster mode needs beerstock.stock.mode=atomic, "
+                    + "the other stock modes keep quantities in memory");
+        }
+        this.properties = properties;
+        this.beerChangeClock = beerChangeClock;
+        this.beerRepository = beerRepository;
+        this.beerTombstoneRepository = beerTombstoneRepository;
+        this.beerMapper = beerMapper;
+        this.beerNameCache = beerNameCache;
+        this.beerSearchIndex = beerSearchIndex;
+        this.lowStockIndex = lowStockIndex;
+        this.inventoryRollups = inventoryRollups;
+        this.remoteChanges = Counter.builder("beerstock.cluster.remote.changes")
+                .description("Beers changed or deleted by other instances and applied to this one")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        settled = beerChangeClock.share();
+        lastStored = settled;
+        long interval = properties.getSyncInterval().toMillis();
+        syncer.scheduleWithFixedDelay(this::syncQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        syncer.shutdownNow();
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Cluster sync failed, it will be retried", e);
+        }
+    }
+
+    void sync() {
+        long now = System.nanoTime();
+        long stored = beerChangeClock.storedVersion();
+        storedSamples.addLast(new long[]{now, stored});
+        long settleNanos = properties.getSettleWindow().toNanos();
+        long from = settled;
+        while (!storedSamples.isEmpty() && now - storedSamples.peekFirst()[0] >= settleNanos) {
+            settled = Math.max(settled, storedSamples.pollFirst()[1]);
+        }
+
+        // Counted over the allocated range, so a remote change already overwritten here still shows.
+        long seen = lastStored;
+        if (stored > lastStored) {
+            rollupsStale |= beerChangeClock.allocatedHereBetween(lastStored, stored) < stored - lastStored;
+            lastStored = stored;
+        }
+
+        List<Beer> changed = beerRepository.findChangedBetween(from, stored);
+        for (Beer beer : changed) {
+            if (!beerChangeClock.allocatedHere(beer.getChangeVersion())) {
+                BeerDTO beerDTO = beerMapper.toDTO(beer);
+                beerNameCache.evict(beerDTO.getName());
+                beerSearchIndex.add(beerDTO.getId(), beerDTO.getName(), beerDTO.getBrand());
+                lowStockIndex.refresh(beerDTO);
+                if (beer.getChangeVersion() > seen) {
+                    remoteChanges.increment();
+                }
+            }
+        }
+        List<BeerTombstone> deleted = beerTombstoneRepository.findDeletedBetween(from, stored).stream()
+                .filter(tombstone -> !beerChangeClock.allocatedHere(tombstone.getChangeVersion()))
+                .toList();
+        if (!deleted.isEmpty()) {
+            deleted.forEach(tombstone -> {
+                beerSearchIndex.remove(tombstone.getId());
+                lowStockIndex.remove(tombstone.getId());
+                if (tombstone.getChangeVersion() > seen) {
+                    remoteChanges.increment();
+                }
+            });
+            // Tombstones carry no name, and deletes are rare enough to start the cache over.
+            beerNameCache.evictAll();
+        }
+
+        if (now - rollupsRefreshedAt >= properties.getRollupRefresh().toNanos()) {
+            // A mismatch can be a change still committing; rebuilding for it costs one extra rebuild.
+            if (rollupsStale || !inventoryRollups.check().isEmpty()) {
+                inventoryRollups.rebuild();
+            }
+            rollupsStale = false;
+            rollupsRefreshedAt = now;
+        }
+        beerChangeClock.settle(settled);
+    }
+}
@@ -0,0 +1,72 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Admission control in front of {@code /api/v1/beers}: a request budget per client and per kind
+ * of request (reads are GET and HEAD, everything else is a write), then a concurrency limit shared
+ * by all clients that adapts to the observed latency.
+ */
+@Data
+@ConfigurationProperties(prefix = "beerstock.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Header identifying the client; requests without it are budgeted by remote address.
+     */
+    private String clientHeader = "X-API-Key";
+
+    private int maxClients = 100_000;
+
+    private Duration clientIdleTimeout = Duration.ofMinutes(10);
+
+    private Budget read = new Budget(200, 400);
+
+    private Budget write = new Budget(50, 100);
+
+    private final Concurrency concurrency = new Concurrency();
+
+    /**
+     * Sustained requests per second and how many can arrive at once after an idle period.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+
+        private double rate;
+
+        private int burst;
+    }
+
+    @Data
+    public static class Concurrency {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 200;
+
+        /**
+         * A request slower than this and than {@code baselineTolerance} times the usual latency of
+         * its route, or failing with a 500, counts as a sign of overload and shrinks the limit by
+         * {@code backoffRatio}; otherwise the limit grows by about one per limit's worth of
+         * requests while it is at least half used.
+         */
+        private Duration latencyThreshold = Duration.ofMillis(250);
+
+        private double baselineTolerance = 2.0;
+
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,20 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.changes")
+public class BeerChangesProperties {
+
+    /**
+     * Versions a tombstone is kept for. A client polling from further back than this gets a
+     * {@code reset} instead of the deletions it missed.
+     */
+    private long tombstoneRetention = 100_000;
+
+    /**
+     * Changes returned by one poll; a longer backlog is served in several responses.
+     */
+    private int maxChanges = 1000;
+}
@@ -0,0 +1,19 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.export")
+public class BeerExportProperties {
+
+    /**
+     * Spreadsheet rows kept in memory; older rows are flushed to a temporary file.
+     */
+    private int rowWindow = 100;
+
+    /**
+     * PDF table rows laid out and written to the response at a time.
+     */
+    private int pdfFlushRows = 50;
+}
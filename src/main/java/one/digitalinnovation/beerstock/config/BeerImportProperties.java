@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.import")
+public class BeerImportProperties {
+
+    private int chunkSize = 1000;
+
+    private Path file;
+}
@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.metrics")
+public class BeerMetricsProperties {
+
+    private boolean enabled = true;
+
+    private Duration gaugeRefresh = Duration.ofSeconds(5);
+}
@@ -0,0 +1,23 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.stream")
+public class BeerStreamProperties {
+
+    /**
+     * Events kept for subscribers that fall behind, rounded up to a power of two. A subscriber
+     * further behind than this gets a {@code resync} event instead of the events it missed.
+     */
+    private int bufferSize = 4096;
+
+    private int maxSubscribers = 10_000;
+
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,23 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.cluster")
+public class ClusterProperties {
+
+    private boolean enabled = false;
+
+    private Duration syncInterval = Duration.ofMillis(500);
+
+    /**
+     * How long a change version may stay uncommitted on another instance. Changes feeds stop this
+     * far behind the newest stored version, so a longer transaction can be skipped by them.
+     */
+    private Duration settleWindow = Duration.ofSeconds(2);
+
+    private Duration rollupRefresh = Duration.ofSeconds(10);
+}
@@ -0,0 +1,37 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Heap the stored responses may take, keys and bodies included; the least recently used are
+     * evicted first.
+     */
+    private DataSize maxStoreSize = DataSize.ofMegabytes(32);
+
+    /**
+     * How long after a request its key replays the stored response.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a duplicate waits for the request already running with its key before getting {@code 409}.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    private int maxKeyLength = 255;
+
+    /**
+     * Larger responses are not stored, so a retry of that request runs again.
+     */
+    private DataSize maxResponseSize = DataSize.ofKilobytes(64);
+}
@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.stats")
+public class InventoryStatsProperties {
+
+    /**
+     * Id range read by each fork-join task when the rollups are rebuilt.
+     */
+    private int rebuildChunkSize = 10_000;
+
+    private int rebuildParallelism = Runtime.getRuntime().availableProcessors();
+}
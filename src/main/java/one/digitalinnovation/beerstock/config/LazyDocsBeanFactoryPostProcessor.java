@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerstock.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * Marks the API documentation beans (springdoc and {@link SwaggerConfig}) lazy, so they are built
+ * by the first request to {@code /v3/api-docs} or the Swagger UI instead of during startup.
+ * Bean factory post-processors themselves are left alone: they have already run by now.
+ */
+public class LazyDocsBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private static final String DOCS_PACKAGE = "org.springdoc.";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (isDocs(definition) && definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private static boolean isDocs(BeanDefinition definition) {
+        String type = definition.getBeanClassName();
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            if (factoryMethod != null) {
+                type = factoryMethod.getDeclaringClassName();
+            }
+        }
+        return type != null && (type.startsWith(DOCS_PACKAGE) || type.equals(SwaggerConfig.class.getName()));
+    }
+}
@@ -0,0 +1,28 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Thresholds are units ({@code 5}) or a percentage of the beer's max ({@code 10%}). A beer is low
+ * at or below its threshold and stays low until it rises above threshold plus hysteresis.
+ */
+@Data
+@ConfigurationProperties(prefix = "beerstock.low-stock")
+public class LowStockProperties {
+
+    private String threshold = "10%";
+
+    private String hysteresis = "5%";
+
+    private Map<BeerType, String> types = new HashMap<>();
+
+    /**
+     * Thresholds of individual beers by name, taking precedence over their type.
+     */
+    private Map<String, String> beers = new HashMap<>();
+}
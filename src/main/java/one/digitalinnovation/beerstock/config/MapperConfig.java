@@ -0,0 +1,18 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.metrics.BeerServiceMetrics;
+import one.digitalinnovation.beerstock.metrics.MeasuredBeerMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MapperConfig {
+
+    @Bean
+    public BeerMapper beerMapper(ObjectProvider<BeerServiceMetrics> serviceMetrics) {
+        BeerServiceMetrics metrics = serviceMetrics.getIfAvailable();
+        return metrics == null ? BeerMapper.INSTANCE : new MeasuredBeerMapper(BeerMapper.INSTANCE, metrics);
+    }
+}
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.pinning-monitor")
+public class PinningMonitorProperties {
+
+    private boolean enabled = false;
+
+    private Duration threshold = Duration.ofMillis(20);
+
+    private int stackDepth = 12;
+}
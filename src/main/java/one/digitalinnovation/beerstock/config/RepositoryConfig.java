@@ -0,0 +1,18 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.ReactiveBeerRepository;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * JPA fails on reactive repository interfaces instead of skipping them, so the R2DBC repository
+ * used by the reactive profile is kept out of its scan.
+ */
+@Configuration
+@EnableJpaRepositories(basePackageClasses = BeerRepository.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveBeerRepository.class))
+public class RepositoryConfig {
+}
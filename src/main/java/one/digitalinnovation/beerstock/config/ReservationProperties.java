@@ -0,0 +1,30 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.reservations")
+public class ReservationProperties {
+
+    /**
+     * How long a hold lasts when the request does not say; requested TTLs are capped at {@code maxTtl}.
+     */
+    private Duration defaultTtl = Duration.ofMinutes(15);
+
+    private Duration maxTtl = Duration.ofHours(1);
+
+    /**
+     * Outstanding holds across all beers; further reservations are refused with {@code 503}.
+     */
+    private int maxOutstanding = 500_000;
+
+    /**
+     * Expiry resolution: a hold is released at most one tick after it expires.
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    private int wheelSize = 512;
+}
@@ -0,0 +1,100 @@
+package one.digitalinnovation.beerstock.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "beerstock.stock")
+public class StockProperties {
+
+    private Mode mode = Mode.ATOMIC;
+
+    private int bulkChunkSize = 500;
+
+    private final CounterEngine counterEngine = new CounterEngine();
+
+    private final Ledger ledger = new Ledger();
+
+    private final Wal wal = new Wal();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    private final Retry retry = new Retry();
+
+    public enum Mode {
+        ATOMIC,
+        COUNTER_ENGINE,
+        LEDGER
+    }
+
+    public enum Durability {
+        SYNC,
+        WRITE_BEHIND,
+        WAL
+    }
+
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        OS
+    }
+
+    @Data
+    public static class CounterEngine {
+
+        private Durability durability = Durability.WRITE_BEHIND;
+
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private int dirtyThreshold = 1000;
+
+        private int flushBatchSize = 500;
+    }
+
+    @Data
+    public static class Ledger {
+
+        private int batchSize = 500;
+
+        private Duration snapshotInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Wal {
+
+        private String directory = "data/wal";
+
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        private FsyncPolicy fsync = FsyncPolicy.INTERVAL;
+
+        private Duration fsyncInterval = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Coalescing {
+
+        private boolean enabled = false;
+
+        private Duration window = Duration.ofNanos(200_000);
+
+        private int maxBatchSize = 64;
+    }
+
+    /**
+     * Backoff for stock writes that lost a lock or version race with another transaction, which
+     * happens mostly when several instances share the database.
+     */
+    @Data
+    public static class Retry {
+
+        private int maxAttempts = 5;
+
+        private Duration initialBackoff = Duration.ofMillis(5);
+
+        private Duration maxBackoff = Duration.ofMillis(200);
+    }
+}
@@ -4,6 +4,8 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -29,4 +31,13 @@ public class SwaggerConfig {
                                 .email(CONTACT_EMAIL))
                         .license(new License().name("Apache 2.0").url("http://springdoc.org")));
     }
+
+    /**
+     * Defers the documentation beans to their first use; the {@code prod} profile turns this on.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "beerstock.startup", name = "lazy-docs", havingValue = "true")
+    public static BeanFactoryPostProcessor lazyDocsBeanFactoryPostProcessor() {
+        return new LazyDocsBeanFactoryPostProcessor();
+    }
 }
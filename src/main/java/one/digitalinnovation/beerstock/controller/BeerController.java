@@ -1,33 +1,80 @@
 package one.digitalinnovation.beerstock.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.dto.BeerChangesDTO;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchResultDTO;
+import one.digitalinnovation.beerstock.dto.InventoryMismatchDTO;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.dto.LowStockDTO;
 import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.dto.ReservationRequestDTO;
+import one.digitalinnovation.beerstock.dto.StockAvailabilityDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.dto.StockQuantityAtDTO;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.InvalidCursorException;
+import one.digitalinnovation.beerstock.exception.ReservationCapacityExceededException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.exception.StockHistoryUnavailableException;
+import one.digitalinnovation.beerstock.exception.StreamCapacityExceededException;
+import one.digitalinnovation.beerstock.export.BeerPdfExporter;
+import one.digitalinnovation.beerstock.export.BeerXlsxExporter;
+import one.digitalinnovation.beerstock.service.BeerImportService;
 import one.digitalinnovation.beerstock.service.BeerService;
+import one.digitalinnovation.beerstock.stream.BeerEventStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/beers")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerController implements BeerControllerDocs {
 
     private final BeerService beerService;
+    private final BeerImportService beerImportService;
+    private final ObjectMapper objectMapper;
+    private final BeerEventStream beerEventStream;
+    private final BeerXlsxExporter beerXlsxExporter;
+    private final BeerPdfExporter beerPdfExporter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -41,8 +88,89 @@ public class BeerController implements BeerControllerDocs {
     }
 
     @GetMapping
-    public List<BeerDTO> listBeers() {
-        return beerService.listAll();
+    public ResponseEntity<List<BeerDTO>> listBeers(WebRequest request) {
+        String eTag = beerService.catalogETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(beerService.listAll());
+    }
+
+    @GetMapping("/changes")
+    public BeerChangesDTO listChanges(@RequestParam long since, @RequestParam(required = false) String cursor) throws InvalidCursorException {
+        return beerService.changesSince(since, cursor);
+    }
+
+    @GetMapping("/search")
+    public List<BeerSearchResultDTO> searchBeers(@RequestParam("q") String query, @RequestParam(defaultValue = "10") int limit) {
+        return beerService.search(query, limit);
+    }
+
+    @GetMapping("/low-stock")
+    public List<LowStockDTO> listLowStock() {
+        return beerService.listLowStock();
+    }
+
+    @GetMapping("/stats")
+    public InventoryStatsDTO inventoryStats() {
+        return beerService.inventoryStats();
+    }
+
+    @GetMapping("/stats/check")
+    public List<InventoryMismatchDTO> checkInventoryStats() {
+        return beerService.checkInventoryStats();
+    }
+
+    @GetMapping(params = "limit")
+    public BeerPageDTO listBeersPage(@RequestParam int limit, @RequestParam(required = false) String cursor) throws InvalidCursorException {
+        return beerService.listPage(cursor, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBeers() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                beerService.streamAll(beerDTO -> {
+                    try {
+                        generator.writeObject(beerDTO);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/export.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportXlsx() {
+        return attachment("beers.xlsx", MediaType.parseMediaType(BeerXlsxExporter.CONTENT_TYPE), beerXlsxExporter::export);
+    }
+
+    @GetMapping("/export.pdf")
+    public ResponseEntity<StreamingResponseBody> exportPdf() {
+        return attachment("beers.pdf", MediaType.APPLICATION_PDF, beerPdfExporter::export);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String filename, MediaType contentType,
+                                                                    StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                              HttpServletRequest request, HttpServletResponse response)
+            throws StreamCapacityExceededException, IOException {
+        beerEventStream.subscribe(request, response, lastEventId);
     }
 
     @DeleteMapping("/{id}")
@@ -62,4 +190,50 @@ public class BeerController implements BeerControllerDocs {
     public BeerDTO decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException {
         return beerService.decrement(id, quantityDTO.getQuantity());
     }
+
+    @GetMapping("/{id}/availability")
+    public StockAvailabilityDTO availability(@PathVariable Long id) throws BeerNotFoundException {
+        return beerService.availability(id);
+    }
+
+    @PostMapping("/{id}/reservations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationDTO reserve(@PathVariable Long id, @RequestBody @Valid ReservationRequestDTO reservationRequestDTO)
+            throws BeerNotFoundException, BeerStockExceededException, ReservationCapacityExceededException {
+        return beerService.reserve(id, reservationRequestDTO);
+    }
+
+    @PostMapping("/{id}/reservations/{reservationId}/confirm")
+    public BeerDTO confirmReservation(@PathVariable Long id, @PathVariable Long reservationId)
+            throws ReservationNotFoundException, BeerNotFoundException, BeerStockExceededException {
+        return beerService.confirmReservation(id, reservationId);
+    }
+
+    @DeleteMapping("/{id}/reservations/{reservationId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelReservation(@PathVariable Long id, @PathVariable Long reservationId) throws ReservationNotFoundException {
+        beerService.cancelReservation(id, reservationId);
+    }
+
+    @GetMapping("/{id}/quantity")
+    public StockQuantityAtDTO quantityAt(@PathVariable Long id,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at)
+            throws BeerNotFoundException, StockHistoryUnavailableException {
+        return beerService.quantityAt(id, at);
+    }
+
+    @PostMapping("/stock-movements")
+    public List<StockMovementResultDTO> applyStockMovements(@RequestBody @Valid List<@Valid StockMovementDTO> movements) {
+        return beerService.applyStockMovements(movements);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BeerImportReportDTO importBeers(InputStream body) throws IOException {
+        return beerImportService.importJson(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public BeerImportReportDTO importBeersCsv(InputStream body) throws IOException {
+        return beerImportService.importCsv(body);
+    }
 }
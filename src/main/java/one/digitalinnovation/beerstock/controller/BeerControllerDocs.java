@@ -4,11 +4,39 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import one.digitalinnovation.beerstock.dto.BeerChangesDTO;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchResultDTO;
+import one.digitalinnovation.beerstock.dto.InventoryMismatchDTO;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.dto.LowStockDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.dto.ReservationRequestDTO;
+import one.digitalinnovation.beerstock.dto.StockAvailabilityDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.dto.StockQuantityAtDTO;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.InvalidCursorException;
+import one.digitalinnovation.beerstock.exception.ReservationCapacityExceededException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.exception.StockHistoryUnavailableException;
+import one.digitalinnovation.beerstock.exception.StreamCapacityExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
 @Tag(name = "Beer API", description = "Manages beer stock")
@@ -19,7 +47,7 @@ public interface BeerControllerDocs {
                     @ApiResponse(responseCode = "201", description = "Success beer creation"),
                     @ApiResponse(responseCode = "400", description = "Missing required fields or wrong field range value.")
     })
-    BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException;
+    BeerDTO createBeer(@Valid BeerDTO beerDTO) throws BeerAlreadyRegisteredException;
 
     @Operation(summary = "Returns beer found by a given name")
     @ApiResponses(value = {
@@ -31,8 +59,73 @@ public interface BeerControllerDocs {
     @Operation(summary = "Returns a list of all beers registered in the system")
     @ApiResponses(value = {
                     @ApiResponse(responseCode = "200", description = "List of all beers registered in the system"),
+                    @ApiResponse(responseCode = "304", description = "Nothing changed since the ETag sent in If-None-Match"),
     })
-    List<BeerDTO> listBeers();
+    ResponseEntity<List<BeerDTO>> listBeers(WebRequest request);
+
+    @Operation(summary = "Returns the beers created, updated or deleted after a given change version")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Changed beers, deleted ids and the version to poll from next"),
+                    @ApiResponse(responseCode = "400", description = "Cursor not issued by this API.")
+    })
+    BeerChangesDTO listChanges(long since, String cursor) throws InvalidCursorException;
+
+    @Operation(summary = "Searches beers by name or brand prefix, tolerating typos, for type-ahead")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Best matches first, at most limit results"),
+    })
+    List<BeerSearchResultDTO> searchBeers(String query, int limit);
+
+    @Operation(summary = "Returns the beers at or below their low-stock threshold, emptiest first")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Beers with an open low-stock alert"),
+    })
+    List<LowStockDTO> listLowStock();
+
+    @Operation(summary = "Returns skus, quantity, capacity and fill ratio in total, by beer type and by brand")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Inventory totals from the in-memory rollups"),
+    })
+    InventoryStatsDTO inventoryStats();
+
+    @Operation(summary = "Compares the inventory rollups with a full database aggregation")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Groups that differ, empty when the rollups are consistent"),
+    })
+    List<InventoryMismatchDTO> checkInventoryStats();
+
+    @Operation(summary = "Returns a page of beers ordered by id, starting after the given cursor")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Page of beers and the cursor of the next page, absent on the last page"),
+                    @ApiResponse(responseCode = "400", description = "Cursor not issued by this API.")
+    })
+    BeerPageDTO listBeersPage(int limit, String cursor) throws InvalidCursorException;
+
+    @Operation(summary = "Streams every beer as newline-delimited JSON (Accept: application/x-ndjson)")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "One beer per line, written as rows are read"),
+    })
+    ResponseEntity<StreamingResponseBody> streamBeers();
+
+    @Operation(summary = "Downloads the catalog as an Excel workbook")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Workbook streamed as rows are read"),
+    })
+    ResponseEntity<StreamingResponseBody> exportXlsx();
+
+    @Operation(summary = "Downloads the catalog as a PDF report")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "PDF written to the response as rows are read"),
+    })
+    ResponseEntity<StreamingResponseBody> exportPdf();
+
+    @Operation(summary = "Pushes every beer creation, stock change and deletion as server-sent events")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Events created, stock-changed and deleted, or resync after falling too far behind"),
+                    @ApiResponse(responseCode = "503", description = "Too many open subscriptions.")
+    })
+    void streamChanges(String lastEventId, HttpServletRequest request, HttpServletResponse response)
+            throws StreamCapacityExceededException, IOException;
 
     @Operation(summary = "Delete a beer found by a given valid Id")
     @ApiResponses(value = {
@@ -40,4 +133,63 @@ public interface BeerControllerDocs {
                     @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
     })
     void deleteById(@PathVariable Long id) throws BeerNotFoundException;
+
+    @Operation(summary = "Returns a beer's stock, the units on hold and the units still available to sell")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Quantity, reserved and available units"),
+                    @ApiResponse(responseCode = "404", description = "Beer with given id not found.")
+    })
+    StockAvailabilityDTO availability(@PathVariable Long id) throws BeerNotFoundException;
+
+    @Operation(summary = "Holds units of a beer for a checkout until confirmed, cancelled or expired after the TTL")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "201", description = "Reservation id and expiry instant"),
+                    @ApiResponse(responseCode = "400", description = "Not enough units available to sell, or wrong quantity."),
+                    @ApiResponse(responseCode = "404", description = "Beer with given id not found."),
+                    @ApiResponse(responseCode = "503", description = "Too many outstanding reservations.")
+    })
+    ReservationDTO reserve(@PathVariable Long id, @Valid ReservationRequestDTO reservationRequestDTO)
+            throws BeerNotFoundException, BeerStockExceededException, ReservationCapacityExceededException;
+
+    @Operation(summary = "Turns a reservation into a stock decrement")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Beer with its quantity after the decrement"),
+                    @ApiResponse(responseCode = "404", description = "Reservation not found, already confirmed, cancelled or expired.")
+    })
+    BeerDTO confirmReservation(@PathVariable Long id, @PathVariable Long reservationId)
+            throws ReservationNotFoundException, BeerNotFoundException, BeerStockExceededException;
+
+    @Operation(summary = "Releases a reservation without touching the stock")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "204", description = "Units on hold are available again"),
+                    @ApiResponse(responseCode = "404", description = "Reservation not found, already confirmed, cancelled or expired.")
+    })
+    void cancelReservation(@PathVariable Long id, @PathVariable Long reservationId) throws ReservationNotFoundException;
+
+    @Operation(summary = "Returns the stock quantity a beer had at a given instant (ledger stock mode only)")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Quantity after the last movement recorded up to the instant"),
+                    @ApiResponse(responseCode = "404", description = "Beer with given id not found."),
+                    @ApiResponse(responseCode = "501", description = "Stock history is not recorded in the current stock mode.")
+    })
+    StockQuantityAtDTO quantityAt(@PathVariable Long id, Instant at) throws BeerNotFoundException, StockHistoryUnavailableException;
+
+    @Operation(summary = "Applies a batch of stock movements, netting the deltas of each beer")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Outcome of each beer movement: applied, not found or exceeded"),
+                    @ApiResponse(responseCode = "400", description = "Malformed list of movements, or a movement without id or delta.")
+    })
+    List<StockMovementResultDTO> applyStockMovements(@Valid List<@Valid StockMovementDTO> movements);
+
+    @Operation(summary = "Streams a JSON array of beers into the system in batches")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Import report with imported, duplicate and invalid counts and throughput"),
+    })
+    BeerImportReportDTO importBeers(InputStream body) throws IOException;
+
+    @Operation(summary = "Streams a CSV file of beers (name,brand,max,quantity,type) into the system in batches")
+    @ApiResponses(value = {
+                    @ApiResponse(responseCode = "200", description = "Import report with imported, duplicate and invalid counts and throughput"),
+    })
+    BeerImportReportDTO importBeersCsv(InputStream body) throws IOException;
 }
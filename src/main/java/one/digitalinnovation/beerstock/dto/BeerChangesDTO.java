@@ -0,0 +1,42 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerChangesDTO {
+
+    /**
+     * Version to send as {@code since} on the next poll.
+     */
+    private long version;
+
+    /**
+     * True when {@code since} was ahead of this server, e.g. after the in-memory database was
+     * recreated, or older than the tombstones kept; {@code changed} then holds the catalog, a
+     * page at a time, and the client should start over.
+     */
+    private boolean reset;
+
+    /**
+     * True when more changes are waiting: poll again right away with {@code since=version}, and
+     * {@code cursor} when one is set.
+     */
+    private boolean more;
+
+    /**
+     * Next catalog page while a reset is being served.
+     */
+    private String cursor;
+
+    private List<BeerDTO> changed;
+
+    private List<Long> deleted;
+}
@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BeerImportReportDTO {
+
+    private long read;
+
+    private long imported;
+
+    private long duplicates;
+
+    private long invalid;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+}
@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A type or brand whose rollup differs from the database aggregation; either side is
+ * {@code null} when the group exists only on the other one.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMismatchDTO {
+
+    private String dimension;
+
+    private String name;
+
+    private InventoryRollupDTO rollup;
+
+    private InventoryRollupDTO database;
+}
@@ -0,0 +1,23 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryRollupDTO {
+
+    private String name;
+
+    private long skus;
+
+    private long quantity;
+
+    private long capacity;
+
+    private double fillRatio;
+}
@@ -0,0 +1,21 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryStatsDTO {
+
+    private InventoryRollupDTO total;
+
+    private List<InventoryRollupDTO> types;
+
+    private List<InventoryRollupDTO> brands;
+}
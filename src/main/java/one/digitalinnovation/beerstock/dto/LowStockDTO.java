@@ -0,0 +1,32 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+import java.time.Instant;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class LowStockDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String brand;
+
+    private BeerType type;
+
+    private int quantity;
+
+    private int max;
+
+    private int threshold;
+
+    private Instant since;
+}
@@ -3,24 +3,34 @@ package one.digitalinnovation.beerstock.entity;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import one.digitalinnovation.beerstock.change.BeerChangeListener;
 import one.digitalinnovation.beerstock.enums.BeerType;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(BeerChangeListener.class)
+@Table(indexes = @Index(name = "idx_beer_change_version", columnList = "changeVersion"))
 public class Beer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_seq")
+    @SequenceGenerator(name = "beer_seq", sequenceName = "beer_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -39,5 +49,20 @@ public class Beer {
     @Column(nullable = false)
     private BeerType type;
 
+    /**
+     * Version of the last change to this row, stamped by {@link BeerChangeListener} or by the bulk
+     * updates of {@code BeerRepository}. Rows written outside JPA start at 0.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long changeVersion;
 
+    /**
+     * Optimistic lock for writes through managed entities. The bulk updates of
+     * {@code BeerRepository} increment it as well, so no write can overwrite one it did not see.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
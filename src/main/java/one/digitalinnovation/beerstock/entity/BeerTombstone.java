@@ -0,0 +1,29 @@
+package one.digitalinnovation.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Marks a deleted beer, so clients syncing through {@code /api/v1/beers/changes} learn about the
+ * removal. {@code id} is the id the beer had.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_beer_tombstone_change_version", columnList = "changeVersion"))
+public class BeerTombstone {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long changeVersion;
+}
@@ -0,0 +1,33 @@
+package one.digitalinnovation.beerstock.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import java.time.Instant;
+
+/**
+ * Watermark of the stock ledger: every movement up to {@code lastMovementId} is already folded
+ * into {@link Beer#getQuantity()}. There is a single row with id {@link #ID}.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long lastMovementId;
+
+    @Column(nullable = false)
+    private Instant takenAt;
+}
@@ -0,0 +1,8 @@
+package one.digitalinnovation.beerstock.enums;
+
+public enum StockMovementStatus {
+
+    APPLIED,
+    NOT_FOUND,
+    EXCEEDED
+}
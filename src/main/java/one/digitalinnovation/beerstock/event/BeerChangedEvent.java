@@ -0,0 +1,32 @@
+package one.digitalinnovation.beerstock.event;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+
+/**
+ * Published by the service layer after every successful change to a beer. Listeners that keep
+ * derived state should use {@code @TransactionalEventListener(fallbackExecution = true)} so they
+ * only observe committed changes.
+ *
+ * @param beer          the beer after the change (before it was removed, for {@code DELETED})
+ * @param quantityDelta the applied stock delta, or the full quantity added/removed by create/delete
+ */
+public record BeerChangedEvent(ChangeType type, BeerDTO beer, int quantityDelta) {
+
+    public enum ChangeType {
+        CREATED,
+        STOCK_CHANGED,
+        DELETED
+    }
+
+    public static BeerChangedEvent created(BeerDTO beer) {
+        return new BeerChangedEvent(ChangeType.CREATED, beer, beer.getQuantity());
+    }
+
+    public static BeerChangedEvent stockChanged(BeerDTO beer, int quantityDelta) {
+        return new BeerChangedEvent(ChangeType.STOCK_CHANGED, beer, quantityDelta);
+    }
+
+    public static BeerChangedEvent deleted(BeerDTO beer) {
+        return new BeerChangedEvent(ChangeType.DELETED, beer, -beer.getQuantity());
+    }
+}
@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.event;
+
+import one.digitalinnovation.beerstock.dto.LowStockDTO;
+
+/**
+ * Published once when a beer falls to its low-stock threshold and once when it recovers past the
+ * hysteresis band, never for the movements in between.
+ */
+public record LowStockAlertEvent(State state, LowStockDTO beer) {
+
+    public enum State {
+        RAISED,
+        CLEARED
+    }
+}
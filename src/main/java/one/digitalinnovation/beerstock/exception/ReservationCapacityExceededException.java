@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ReservationCapacityExceededException extends Exception {
+
+    public ReservationCapacityExceededException(int maxOutstanding) {
+        super(String.format("There are already %s outstanding stock reservations.", maxOutstanding));
+    }
+}
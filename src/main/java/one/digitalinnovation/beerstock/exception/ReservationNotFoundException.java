@@ -0,0 +1,13 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends Exception {
+
+    public ReservationNotFoundException(Long beerId, Long reservationId) {
+        super(String.format("Reservation %s of beer with id %s not found, or already confirmed, cancelled or expired.",
+                reservationId, beerId));
+    }
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class StockHistoryUnavailableException extends Exception {
+
+    public StockHistoryUnavailableException() {
+        super("Stock history is only recorded when beerstock.stock.mode is ledger.");
+    }
+}
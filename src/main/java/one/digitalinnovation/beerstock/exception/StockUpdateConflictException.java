@@ -0,0 +1,18 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Unchecked because it is raised from inside the stock callbacks, which only declare the stock
+ * exceptions.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StockUpdateConflictException extends RuntimeException {
+
+    public StockUpdateConflictException(Long id, int attempts, ConcurrencyFailureException cause) {
+        super(String.format("Stock of beer with ID %s kept changing concurrently after %s attempts, try again.",
+                id, attempts), cause);
+    }
+}
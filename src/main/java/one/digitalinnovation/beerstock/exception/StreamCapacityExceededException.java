@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StreamCapacityExceededException extends Exception {
+
+    public StreamCapacityExceededException(int maxSubscribers) {
+        super(String.format("The beer stream already has %s subscribers.", maxSubscribers));
+    }
+}
@@ -0,0 +1,83 @@
+package one.digitalinnovation.beerstock.export;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.config.BeerExportProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Writes the catalog as a PDF table straight to the output stream. The table is a "large table":
+ * every {@code pdf-flush-rows} rows it is laid out, its pages are written and the rows are
+ * released, so memory does not grow with the catalog.
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerPdfExporter {
+
+    private static final String[] COLUMNS = {"Id", "Name", "Brand", "Type", "Quantity", "Max", "Fill"};
+    private static final float[] COLUMN_WIDTHS = {8, 34, 20, 12, 9, 9, 8};
+
+    private final BeerService beerService;
+    private final BeerExportProperties properties;
+
+    public void export(OutputStream out) throws IOException {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        PdfFont font = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+        PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+        try (Document document = new Document(new PdfDocument(writer), PageSize.A4)) {
+            document.setFont(font).setFontSize(8);
+            document.add(new Paragraph("Beer inventory").setFont(bold).setFontSize(14));
+            document.add(new Paragraph("Generated at " + Instant.now()));
+
+            Table table = new Table(UnitValue.createPercentArray(COLUMN_WIDTHS), true).useAllAvailableWidth();
+            for (String column : COLUMNS) {
+                table.addHeaderCell(new Cell().add(new Paragraph(column).setFont(bold)));
+            }
+            document.add(table);
+            int flushRows = properties.getPdfFlushRows();
+            int[] rows = {0};
+            beerService.streamAll(beer -> {
+                addRow(table, beer);
+                if (++rows[0] % flushRows == 0) {
+                    table.flush();
+                }
+            });
+            table.complete();
+        }
+    }
+
+    private static void addRow(Table table, BeerDTO beer) {
+        table.addCell(number(String.valueOf(beer.getId())));
+        table.addCell(beer.getName());
+        table.addCell(beer.getBrand());
+        table.addCell(beer.getType().name());
+        table.addCell(number(String.valueOf(beer.getQuantity())));
+        table.addCell(number(String.valueOf(beer.getMax())));
+        table.addCell(number(beer.getMax() == 0 ? ""
+                : String.format(Locale.ROOT, "%.1f%%", 100.0 * beer.getQuantity() / beer.getMax())));
+    }
+
+    private static Cell number(String text) {
+        return new Cell().add(new Paragraph(text)).setTextAlignment(TextAlignment.RIGHT);
+    }
+}
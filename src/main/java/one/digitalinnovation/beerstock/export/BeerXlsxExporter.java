@@ -0,0 +1,107 @@
+package one.digitalinnovation.beerstock.export;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.config.BeerExportProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the catalog as an Excel workbook in constant memory: rows come from the JPA stream and
+ * {@link SXSSFWorkbook} keeps only the last {@code row-window} of them on the heap, spilling the
+ * rest to a compressed temporary file that is copied to the response at the end. A catalog larger
+ * than one sheet continues on the next.
+ */
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerXlsxExporter {
+
+    public static final String CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    private static final String[] COLUMNS = {"Id", "Name", "Brand", "Type", "Quantity", "Max", "Fill"};
+    private static final int[] COLUMN_WIDTHS = {10, 40, 24, 12, 10, 10, 8};
+    private static final int ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    private final BeerService beerService;
+    private final BeerExportProperties properties;
+
+    public void export(OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(properties.getRowWindow());
+        try {
+            workbook.setCompressTempFiles(true);
+            Sheets sheets = new Sheets(workbook);
+            beerService.streamAll(sheets::add);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static final class Sheets {
+
+        private final SXSSFWorkbook workbook;
+        private final CellStyle headerStyle;
+        private final CellStyle bodyStyle;
+        private final CellStyle fillStyle;
+        private SXSSFSheet sheet;
+        private int nextRow;
+
+        private Sheets(SXSSFWorkbook workbook) {
+            this.workbook = workbook;
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            this.headerStyle = workbook.createCellStyle();
+            headerStyle.setFont(bold);
+            this.bodyStyle = workbook.getCellStyleAt(0);
+            this.fillStyle = workbook.createCellStyle();
+            fillStyle.setDataFormat(workbook.createDataFormat().getFormat("0.0%"));
+            newSheet();
+        }
+
+        private void add(BeerDTO beer) {
+            if (nextRow > ROWS_PER_SHEET) {
+                newSheet();
+            }
+            Row row = sheet.createRow(nextRow++);
+            cell(row, 0, bodyStyle).setCellValue(beer.getId());
+            cell(row, 1, bodyStyle).setCellValue(beer.getName());
+            cell(row, 2, bodyStyle).setCellValue(beer.getBrand());
+            cell(row, 3, bodyStyle).setCellValue(beer.getType().name());
+            cell(row, 4, bodyStyle).setCellValue(beer.getQuantity());
+            cell(row, 5, bodyStyle).setCellValue(beer.getMax());
+            if (beer.getMax() > 0) {
+                cell(row, 6, fillStyle).setCellValue((double) beer.getQuantity() / beer.getMax());
+            }
+        }
+
+        // An explicit style spares POI a lookup of the column's default style for every cell it flushes.
+        private static Cell cell(Row row, int column, CellStyle style) {
+            Cell cell = row.createCell(column);
+            cell.setCellStyle(style);
+            return cell;
+        }
+
+        private void newSheet() {
+            sheet = workbook.createSheet("Beers " + (workbook.getNumberOfSheets() + 1));
+            sheet.createFreezePane(0, 1);
+            Row header = sheet.createRow(0);
+            for (int column = 0; column < COLUMNS.length; column++) {
+                cell(header, column, headerStyle).setCellValue(COLUMNS[column]);
+                sheet.setColumnWidth(column, COLUMN_WIDTHS[column] * 256);
+            }
+            nextRow = 1;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import one.digitalinnovation.beerstock.admission.AdmissionFilter;
+import one.digitalinnovation.beerstock.config.AdmissionProperties;
+import one.digitalinnovation.beerstock.config.IdempotencyProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes mutating {@code /api/v1/beers} requests that carry an {@code Idempotency-Key} safe to
+ * retry. The first request with a key runs and its response is stored; a later one with the same
+ * key gets that response back, marked {@code Idempotent-Replayed}, without reaching the
+ * controller. A duplicate arriving while the first is still running waits for it. Server errors,
+ * {@code 409} and {@code 429} are not stored, so the next retry runs again. Keys belong to the
+ * client, identified as by {@link AdmissionFilter}, and a key reused for a different method, path
+ * or body gets {@code 422}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "beerstock.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String API_PATH = "/api/v1/beers";
+    private static final StoredResponse TIMED_OUT = new StoredResponse(0, 0, null, new byte[0]);
+
+    private final IdempotencyProperties properties;
+    private final AdmissionProperties admissionProperties;
+    private final IdempotencyStore store;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timedOut;
+
+    public IdempotencyFilter(IdempotencyProperties properties, AdmissionProperties admissionProperties,
+                             IdempotencyStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.admissionProperties = admissionProperties;
+        this.store = store;
+        this.executed = requests(meterRegistry, "executed");
+        this.replayed = requests(meterRegistry, "replayed");
+        this.mismatched = requests(meterRegistry, "mismatched");
+        this.timedOut = requests(meterRegistry, "timed-out");
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("beerstock.idempotency.requests")
+                .description("Requests carrying an idempotency key")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !request.getRequestURI().startsWith(API_PATH)
+                || HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || request.getHeader(KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(KEY_HEADER);
+        if (header.isBlank() || header.length() > properties.getMaxKeyLength()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    KEY_HEADER + " must have between 1 and " + properties.getMaxKeyLength() + " characters.");
+            return;
+        }
+        // Header values cannot hold a line break, so no client's key can pass for another's.
+        String key = AdmissionFilter.clientId(request, admissionProperties.getClientHeader()) + '\n' + header;
+        FingerprintingRequest fingerprinting = new FingerprintingRequest(request);
+        long waitUntil = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            StoredResponse stored = store.find(key);
+            if (stored != null) {
+                replay(stored, fingerprinting, response);
+                return;
+            }
+            CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = store.start(key, execution);
+            if (running == null) {
+                // Another request may have finished between the lookup and the registration.
+                stored = store.find(key);
+                if (stored != null) {
+                    store.finish(key, execution, null);
+                    replay(stored, fingerprinting, response);
+                } else {
+                    execute(key, execution, fingerprinting, response, filterChain);
+                }
+                return;
+            }
+            stored = await(running, waitUntil);
+            if (stored == TIMED_OUT) {
+                timedOut.increment();
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + KEY_HEADER + " is still running.");
+                return;
+            }
+            if (stored != null) {
+                replay(stored, fingerprinting, response);
+                return;
+            }
+            // The running request was not stored, so this one gets its turn.
+        }
+    }
+
+    private void execute(String key, CompletableFuture<StoredResponse> execution, FingerprintingRequest request,
+                         HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            stored = storable(request.fingerprint(), wrapper);
+            executed.increment();
+        } finally {
+            store.finish(key, execution, stored);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse storable(long requestHash, ContentCachingResponseWrapper response) {
+        int status = response.getStatus();
+        if (status >= 500 || status == HttpStatus.CONFLICT.value() || status == HttpStatus.TOO_MANY_REQUESTS.value()
+                || response.getContentSize() > properties.getMaxResponseSize().toBytes()) {
+            return null;
+        }
+        String contentType = response.getContentType();
+        return new StoredResponse(requestHash, status, contentType == null ? null : contentType.intern(),
+                response.getContentAsByteArray());
+    }
+
+    private void replay(StoredResponse stored, FingerprintingRequest request, HttpServletResponse response)
+            throws IOException {
+        if (stored.requestHash() != request.fingerprint()) {
+            mismatched.increment();
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    KEY_HEADER + " was already used for a different request.");
+            return;
+        }
+        replayed.increment();
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body().length == 0 && stored.status() >= 400) {
+            response.sendError(stored.status());
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> running, long waitUntil) throws IOException {
+        try {
+            return running.get(Math.max(0, waitUntil - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return TIMED_OUT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a request with the same " + KEY_HEADER, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
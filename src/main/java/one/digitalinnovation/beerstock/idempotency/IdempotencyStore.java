@@ -0,0 +1,71 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import one.digitalinnovation.beerstock.config.IdempotencyProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Responses by idempotency key, bounded in bytes and expiring {@code ttl} after they were stored,
+ * plus the executions still running, so a duplicate arriving meanwhile waits for the first one
+ * instead of running too. Everything is in memory; nothing here reads the database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyStore {
+
+    /**
+     * Heap an entry takes besides its key and body: the cache node, the record, string and array
+     * headers. {@code IdempotencyStoreBenchmark} prints what an entry really retains.
+     */
+    static final int ENTRY_OVERHEAD = 220;
+
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> running = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxStoreSize().toBytes())
+                .weigher((String key, StoredResponse response) -> ENTRY_OVERHEAD + key.length() + response.body().length)
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+    }
+
+    public StoredResponse find(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Registers {@code execution} as the one running for {@code key}.
+     *
+     * @return the execution already running for the key, or null if this one was registered
+     */
+    public CompletableFuture<StoredResponse> start(String key, CompletableFuture<StoredResponse> execution) {
+        return running.putIfAbsent(key, execution);
+    }
+
+    /**
+     * Stores the response, unless it is null because the outcome should not be replayed, and
+     * wakes the duplicates waiting on {@code execution}.
+     */
+    public void finish(String key, CompletableFuture<StoredResponse> execution, StoredResponse response) {
+        if (response != null) {
+            responses.put(key, response);
+        }
+        running.remove(key, execution);
+        execution.complete(response);
+    }
+
+    public long size() {
+        return responses.estimatedSize();
+    }
+}
@@ -0,0 +1,9 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+/**
+ * What a replay needs to answer like the original request. {@code requestHash} identifies the
+ * method, path and body the key was first used with; the body is empty for errors sent through
+ * the container's error page.
+ */
+public record StoredResponse(long requestHash, int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,197 @@
+package one.digitalinnovation.beerstock.lowstock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.config.LowStockProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.LowStockDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.event.LowStockAlertEvent;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.stock.StockStore;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the beers that are currently low on stock in memory, so {@code GET /low-stock} never
+ * scans the table. The catalog is read once at startup; after that every committed change
+ * re-evaluates only the beer it touched against its resolved threshold. A beer turns low at or
+ * below its threshold and clears only above threshold plus hysteresis, and a
+ * {@link LowStockAlertEvent} is published on those two transitions only.
+ */
+@Slf4j
+@Component
+public class LowStockIndex {
+
+    private final BeerRepository beerRepository;
+    private final StockStore stockStore;
+    private final BeerMapper beerMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockThreshold defaultThreshold;
+    private final StockThreshold hysteresis;
+    private final Map<BeerType, StockThreshold> typeThresholds = new EnumMap<>(BeerType.class);
+    private final Map<String, StockThreshold> beerThresholds = new HashMap<>();
+    private final Map<Long, LowStockDTO> lowBeers = new ConcurrentHashMap<>();
+    private final Counter raised;
+    private final Counter cleared;
+
+    public LowStockIndex(LowStockProperties properties, BeerRepository beerRepository, StockStore stockStore,
+                         BeerMapper beerMapper, EntityManager entityManager, TransactionTemplate transactionTemplate,
+                         ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.beerRepository = beerRepository;
+        this.stockStore = stockStore;
+        this.beerMapper = beerMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.defaultThreshold = StockThreshold.parse(properties.getThreshold());
+        this.hysteresis = StockThreshold.parse(properties.getHysteresis());
+        properties.getTypes().forEach((type, threshold) -> typeThresholds.put(type, StockThreshold.parse(threshold)));
+        properties.getBeers().forEach((name, threshold) -> beerThresholds.put(name, StockThreshold.parse(threshold)));
+        Gauge.builder("beerstock.stock.low.active", lowBeers, Map::size)
+                .description("Beers with an open low-stock alert")
+                .register(meterRegistry);
+        this.raised = alerts(meterRegistry, LowStockAlertEvent.State.RAISED);
+        this.cleared = alerts(meterRegistry, LowStockAlertEvent.State.CLEARED);
+    }
+
+    private static Counter alerts(MeterRegistry meterRegistry, LowStockAlertEvent.State state) {
+        return Counter.builder("beerstock.stock.low.alerts")
+                .description("Low-stock alert transitions")
+                .tag("state", state.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Beers already low at startup are indexed without raising alerts, since nothing changed.
+     */
+    @PostConstruct
+    public void rebuild() {
+        lowBeers.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Beer> beers = beerRepository.streamAll()) {
+                beers.forEach(beer -> {
+                    evaluate(stockStore.overlay(beerMapper.toDTO(beer)), false);
+                    entityManager.detach(beer);
+                });
+            }
+        });
+        log.info("Low-stock index built with {} beers below their threshold", lowBeers.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (event.type() == BeerChangedEvent.ChangeType.DELETED) {
+            lowBeers.remove(event.beer().getId());
+        } else {
+            evaluate(event.beer(), true);
+        }
+    }
+
+    /**
+     * Re-evaluates a beer changed by another instance, without alerts: that instance raises them.
+     */
+    public void refresh(BeerDTO beer) {
+        evaluate(beer, false);
+    }
+
+    public int lowStockCount() {
+        return lowBeers.size();
+    }
+
+    public void remove(Long id) {
+        lowBeers.remove(id);
+    }
+
+    /**
+     * Low beers, emptiest relative to their max first.
+     */
+    public List<LowStockDTO> lowStock() {
+        return lowBeers.values().stream()
+                .sorted(Comparator.comparingDouble(LowStockIndex::fill).thenComparing(LowStockDTO::getId))
+                .toList();
+    }
+
+    private void evaluate(BeerDTO beer, boolean alert) {
+        int max = beer.getMax();
+        int threshold = thresholdOf(beer).units(max);
+        int clearAbove = threshold + hysteresis.units(max);
+        int quantity = beer.getQuantity();
+        LowStockAlertEvent[] transition = new LowStockAlertEvent[1];
+        lowBeers.compute(beer.getId(), (id, current) -> {
+            if (current == null) {
+                if (quantity > threshold) {
+                    return null;
+                }
+                LowStockDTO low = LowStockDTO.builder()
+                        .id(id)
+                        .name(beer.getName())
+                        .brand(beer.getBrand())
+                        .type(beer.getType())
+                        .quantity(quantity)
+                        .max(max)
+                        .threshold(threshold)
+                        .since(Instant.now())
+                        .build();
+                transition[0] = new LowStockAlertEvent(LowStockAlertEvent.State.RAISED, low);
+                return low;
+            }
+            LowStockDTO updated = current.toBuilder().quantity(quantity).max(max).threshold(threshold).build();
+            if (quantity > clearAbove) {
+                transition[0] = new LowStockAlertEvent(LowStockAlertEvent.State.CLEARED, updated);
+                return null;
+            }
+            return updated;
+        });
+        if (alert && transition[0] != null) {
+            publish(transition[0]);
+        }
+    }
+
+    private void publish(LowStockAlertEvent event) {
+        LowStockDTO beer = event.beer();
+        if (event.state() == LowStockAlertEvent.State.RAISED) {
+            raised.increment();
+            log.debug("Low stock: {} ({}) has {} of {} units, threshold {}",
+                    beer.getName(), beer.getId(), beer.getQuantity(), beer.getMax(), beer.getThreshold());
+        } else {
+            cleared.increment();
+            log.debug("Low stock cleared: {} ({}) has {} of {} units",
+                    beer.getName(), beer.getId(), beer.getQuantity(), beer.getMax());
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    private StockThreshold thresholdOf(BeerDTO beer) {
+        StockThreshold threshold = beerThresholds.get(beer.getName());
+        if (threshold == null) {
+            threshold = typeThresholds.getOrDefault(beer.getType(), defaultThreshold);
+        }
+        return threshold;
+    }
+
+    private static double fill(LowStockDTO beer) {
+        return beer.getMax() == 0 ? 0 : (double) beer.getQuantity() / beer.getMax();
+    }
+}
@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.lowstock;
+
+/**
+ * A stock level in units or as a percentage of a beer's max.
+ */
+record StockThreshold(int value, boolean percent) {
+
+    static StockThreshold parse(String text) {
+        String trimmed = text.trim();
+        boolean percent = trimmed.endsWith("%");
+        try {
+            int value = Integer.parseInt(percent ? trimmed.substring(0, trimmed.length() - 1).trim() : trimmed);
+            if (value >= 0) {
+                return new StockThreshold(value, percent);
+            }
+        } catch (NumberFormatException e) {
+            // falls through to the error below
+        }
+        throw new IllegalArgumentException("Invalid stock threshold '" + text + "': expected units like 5 or a percentage like 10%");
+    }
+
+    int units(int max) {
+        return percent ? (int) ((long) max * value / 100) : value;
+    }
+}
@@ -0,0 +1,127 @@
+package one.digitalinnovation.beerstock.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public {@code BeerService} operation as {@code beerstock.service}, tagged with the
+ * method and the exception it ended with, if any. The time the operation spent in
+ * {@code BeerRepository} calls and in {@code BeerMapper} is summed per invocation and recorded
+ * under {@code beerstock.service.repository} and {@code beerstock.service.mapping}. Failed
+ * operations also increment {@code beerstock.service.errors}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "beerstock.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BeerServiceMetrics {
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadLocal<Operation> current = new ThreadLocal<>();
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    public BeerServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * one.digitalinnovation.beerstock.service.BeerService.*(..))")
+    public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (current.get() != null) {
+            return joinPoint.proceed();
+        }
+        Operation operation = new Operation();
+        current.set(operation);
+        String method = joinPoint.getSignature().getName();
+        String exception = NONE;
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            Counter.builder("beerstock.service.errors")
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            current.remove();
+            OperationMeters operationMeters = meters.computeIfAbsent(method, OperationMeters::new);
+            operationMeters.timer(exception).record(elapsed, TimeUnit.NANOSECONDS);
+            operationMeters.repository.record(operation.repositoryNanos, TimeUnit.NANOSECONDS);
+            operationMeters.mapping.record(operation.mappingNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Around("execution(* one.digitalinnovation.beerstock.repository.BeerRepository.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Operation operation = current.get();
+        if (operation == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            operation.repositoryNanos += System.nanoTime() - start;
+        }
+    }
+
+    void recordMapping(long nanos) {
+        Operation operation = current.get();
+        if (operation != null) {
+            operation.mappingNanos += nanos;
+        }
+    }
+
+    private static final class Operation {
+
+        private long repositoryNanos;
+        private long mappingNanos;
+    }
+
+    private final class OperationMeters {
+
+        private final String method;
+        private final Timer success;
+        private final Timer repository;
+        private final Timer mapping;
+
+        private OperationMeters(String method) {
+            this.method = method;
+            this.success = operationTimer(NONE);
+            this.repository = Timer.builder("beerstock.service.repository")
+                    .description("Time a BeerService operation spent in BeerRepository calls")
+                    .tag("method", method)
+                    .register(meterRegistry);
+            this.mapping = Timer.builder("beerstock.service.mapping")
+                    .description("Time a BeerService operation spent mapping between entities and DTOs")
+                    .tag("method", method)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String exception) {
+            return NONE.equals(exception) ? success : operationTimer(exception);
+        }
+
+        private Timer operationTimer(String exception) {
+            return Timer.builder("beerstock.service")
+                    .description("BeerService operation latency")
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(meterRegistry);
+        }
+    }
+}
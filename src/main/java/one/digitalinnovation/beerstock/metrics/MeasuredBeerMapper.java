@@ -0,0 +1,39 @@
+package one.digitalinnovation.beerstock.metrics;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+
+/**
+ * Adds the time spent in each mapping call to the surrounding {@code BeerService} operation.
+ */
+public class MeasuredBeerMapper implements BeerMapper {
+
+    private final BeerMapper delegate;
+    private final BeerServiceMetrics metrics;
+
+    public MeasuredBeerMapper(BeerMapper delegate, BeerServiceMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Beer toModel(BeerDTO beerDTO) {
+        long start = System.nanoTime();
+        try {
+            return delegate.toModel(beerDTO);
+        } finally {
+            metrics.recordMapping(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public BeerDTO toDTO(Beer beer) {
+        long start = System.nanoTime();
+        try {
+            return delegate.toDTO(beer);
+        } finally {
+            metrics.recordMapping(System.nanoTime() - start);
+        }
+    }
+}
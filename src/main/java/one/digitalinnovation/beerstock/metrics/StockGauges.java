@@ -0,0 +1,49 @@
+package one.digitalinnovation.beerstock.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.config.BeerMetricsProperties;
+import one.digitalinnovation.beerstock.lowstock.LowStockIndex;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes {@code beerstock.stock.total} (units across all beers) and {@code beerstock.stock.low}
+ * (beers the {@link LowStockIndex} holds as low, under their per-type or per-beer thresholds).
+ * The total comes from an aggregate query that is reused for {@code gauge-refresh}, so frequent
+ * scrapes do not each scan the table; the low count is read from memory.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StockGauges {
+
+    private final BeerRepository beerRepository;
+    private final BeerMetricsProperties properties;
+    private volatile Snapshot snapshot = new Snapshot(0, 0);
+
+    public StockGauges(BeerRepository beerRepository, BeerMetricsProperties properties, LowStockIndex lowStockIndex,
+                       MeterRegistry meterRegistry) {
+        this.beerRepository = beerRepository;
+        this.properties = properties;
+        Gauge.builder("beerstock.stock.total", this, gauges -> gauges.current().totalQuantity)
+                .description("Units in stock across all beers")
+                .register(meterRegistry);
+        Gauge.builder("beerstock.stock.low", lowStockIndex, LowStockIndex::lowStockCount)
+                .description("Beers at or below their low-stock threshold")
+                .register(meterRegistry);
+    }
+
+    private Snapshot current() {
+        Snapshot last = snapshot;
+        long now = System.nanoTime();
+        if (last.takenAt != 0 && now - last.takenAt < properties.getGaugeRefresh().toNanos()) {
+            return last;
+        }
+        snapshot = new Snapshot(beerRepository.totalQuantity(), now);
+        return snapshot;
+    }
+
+    private record Snapshot(long totalQuantity, long takenAt) {
+    }
+}
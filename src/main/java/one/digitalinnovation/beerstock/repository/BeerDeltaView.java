@@ -0,0 +1,8 @@
+package one.digitalinnovation.beerstock.repository;
+
+public interface BeerDeltaView {
+
+    Long getBeerId();
+
+    Long getDelta();
+}
@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.enums.BeerType;
+
+public interface BeerLevelView {
+
+    Long getId();
+
+    BeerType getType();
+
+    String getBrand();
+
+    int getQuantity();
+
+    int getMax();
+}
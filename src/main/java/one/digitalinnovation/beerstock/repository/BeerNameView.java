@@ -0,0 +1,10 @@
+package one.digitalinnovation.beerstock.repository;
+
+public interface BeerNameView {
+
+    Long getId();
+
+    String getName();
+
+    String getBrand();
+}
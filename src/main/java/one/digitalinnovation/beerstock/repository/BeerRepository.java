@@ -1,11 +1,91 @@
 package one.digitalinnovation.beerstock.repository;
 
 import one.digitalinnovation.beerstock.entity.Beer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface BeerRepository extends JpaRepository<Beer, Long> {
 
     Optional<Beer> findByName(String name);
+
+    boolean existsByName(String name);
+
+    List<Beer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select b from Beer b order by b.id")
+    Stream<Beer> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select b.id as id, b.name as name, b.brand as brand from Beer b")
+    Stream<BeerNameView> streamNames();
+
+    @Query("select b.id as id, b.type as type, b.brand as brand, b.quantity as quantity, b.max as max " +
+            "from Beer b where b.id >= :fromId and b.id < :toId")
+    List<BeerLevelView> findLevelsInRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("select cast(b.type as String) as name, count(b) as skus, sum(b.quantity) as quantity, sum(b.max) as capacity " +
+            "from Beer b group by b.type")
+    List<InventoryTotalsView> totalsByType();
+
+    @Query("select b.brand as name, count(b) as skus, sum(b.quantity) as quantity, sum(b.max) as capacity " +
+            "from Beer b group by b.brand")
+    List<InventoryTotalsView> totalsByBrand();
+
+    @Query("select b.name from Beer b where b.name in :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("select coalesce(sum(b.quantity), 0) from Beer b")
+    long totalQuantity();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Beer> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Beer> findLockedById(Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity + :delta, b.changeVersion = :version, " +
+            "b.version = b.version + 1 where b.id = :id and b.quantity + :delta between 0 and b.max")
+    int adjustQuantity(@Param("id") Long id, @Param("delta") int delta, @Param("version") long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity + (select coalesce(sum(m.delta), 0) from StockMovement m " +
+            "where m.beerId = b.id and m.id > :fromId and m.id <= :toId), b.changeVersion = :version, " +
+            "b.version = b.version + 1 " +
+            "where b.id in (select m.beerId from StockMovement m where m.id > :fromId and m.id <= :toId)")
+    int foldMovements(@Param("fromId") long fromId, @Param("toId") long toId, @Param("version") long version);
+
+    @Query("select coalesce(min(b.id), 0) from Beer b")
+    long findMinId();
+
+    @Query("select coalesce(max(b.id), 0) from Beer b")
+    long findMaxId();
+
+    @Modifying
+    @Query(value = "insert into beer (id, name, brand, max, quantity, type, change_version) " +
+            "values (:id, :name, :brand, :max, :quantity, :type, :version)", nativeQuery = true)
+    int insertWithId(@Param("id") Long id, @Param("name") String name, @Param("brand") String brand,
+                     @Param("max") int max, @Param("quantity") int quantity, @Param("type") String type,
+                     @Param("version") long version);
+
+    @Query("select b from Beer b where b.changeVersion > :since and b.changeVersion <= :upTo order by b.changeVersion")
+    List<Beer> findChangedBetween(@Param("since") long since, @Param("upTo") long upTo);
+
+    @Query("select b.changeVersion from Beer b where b.changeVersion > :since and b.changeVersion <= :upTo order by b.changeVersion")
+    List<Long> findChangeVersionsBetween(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
 }
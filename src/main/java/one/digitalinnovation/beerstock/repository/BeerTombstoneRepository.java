@@ -0,0 +1,26 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.BeerTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BeerTombstoneRepository extends JpaRepository<BeerTombstone, Long> {
+
+    @Query("select t.id from BeerTombstone t where t.changeVersion > :since and t.changeVersion <= :upTo")
+    List<Long> findDeletedIds(@Param("since") long since, @Param("upTo") long upTo);
+
+    @Query("select t from BeerTombstone t where t.changeVersion > :since and t.changeVersion <= :upTo")
+    List<BeerTombstone> findDeletedBetween(@Param("since") long since, @Param("upTo") long upTo);
+
+    @Query("select t.changeVersion from BeerTombstone t where t.changeVersion > :since and t.changeVersion <= :upTo order by t.changeVersion")
+    List<Long> findVersionsBetween(@Param("since") long since, @Param("upTo") long upTo, Limit limit);
+
+    @Modifying
+    @Query("delete from BeerTombstone t where t.changeVersion <= :horizon")
+    int deleteUpTo(@Param("horizon") long horizon);
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.repository;
+
+public interface InventoryTotalsView {
+
+    String getName();
+
+    Long getSkus();
+
+    Long getQuantity();
+
+    Long getCapacity();
+}
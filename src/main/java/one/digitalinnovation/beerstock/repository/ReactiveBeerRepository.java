@@ -0,0 +1,48 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.Beer;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of {@link BeerRepository} for the reactive profile. It maps the same table,
+ * which JPA still creates. Every operation is a single statement, so no reactive transaction
+ * manager is needed. New ids come from the same {@code beer_seq} that Hibernate allocates from.
+ */
+public interface ReactiveBeerRepository extends R2dbcRepository<Beer, Long> {
+
+    @Query("select * from beer where name = :name")
+    Mono<Beer> findByName(@Param("name") String name);
+
+    @Query("select * from beer where id = :id")
+    Mono<Beer> findBeerById(@Param("id") Long id);
+
+    @Query("select * from beer order by id")
+    Flux<Beer> streamAll();
+
+    @Query("select count(*) > 0 from beer where id = :id")
+    Mono<Boolean> existsBeerById(@Param("id") Long id);
+
+    @Modifying
+    @Query("insert into beer (id, name, brand, max, quantity, type) " +
+            "values (next value for beer_seq, :name, :brand, :max, :quantity, :type)")
+    Mono<Integer> insert(@Param("name") String name, @Param("brand") String brand, @Param("max") int max,
+                         @Param("quantity") int quantity, @Param("type") String type);
+
+    /**
+     * Stamps the change version and bumps the optimistic lock like {@link BeerRepository#adjustQuantity},
+     * so the change reaches the changes feed and conflicts with a servlet-side entity update.
+     */
+    @Modifying
+    @Query("update beer set quantity = quantity + :delta, change_version = :version, version = version + 1 " +
+            "where id = :id and quantity + :delta between 0 and max")
+    Mono<Integer> adjustQuantity(@Param("id") Long id, @Param("delta") int delta, @Param("version") long version);
+
+    @Modifying
+    @Query("delete from beer where id = :id")
+    Mono<Integer> deleteBeerById(@Param("id") Long id);
+}
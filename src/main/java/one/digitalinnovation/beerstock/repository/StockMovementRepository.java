@@ -0,0 +1,24 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    Optional<StockMovement> findFirstByBeerIdAndOccurredAtLessThanEqualOrderByIdDesc(Long beerId, Instant at);
+
+    Optional<StockMovement> findFirstByBeerIdAndOccurredAtAfterOrderByIdAsc(Long beerId, Instant at);
+
+    @Query("select coalesce(max(m.id), 0) from StockMovement m")
+    long findLastId();
+
+    @Query("select m.beerId as beerId, sum(m.delta) as delta from StockMovement m " +
+            "where m.id > :afterId group by m.beerId")
+    List<BeerDeltaView> sumDeltasAfter(@Param("afterId") long afterId);
+}
@@ -0,0 +1,27 @@
+package one.digitalinnovation.beerstock.reservation;
+
+/**
+ * One outstanding hold. Besides its own fields it is a node of the {@link TimingWheel} bucket it
+ * waits in, so cancelling it does not allocate or search.
+ */
+final class Reservation {
+
+    final long id;
+    final long beerId;
+    final int quantity;
+    final long deadline;
+    final StockReservations.Holds holds;
+
+    // Owned by the TimingWheel.
+    TimingWheel.Bucket bucket;
+    Reservation prev;
+    Reservation next;
+
+    Reservation(long id, long beerId, int quantity, long deadline, StockReservations.Holds holds) {
+        this.id = id;
+        this.beerId = beerId;
+        this.quantity = quantity;
+        this.deadline = deadline;
+        this.holds = holds;
+    }
+}
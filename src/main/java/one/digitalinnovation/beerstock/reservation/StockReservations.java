@@ -0,0 +1,336 @@
+package one.digitalinnovation.beerstock.reservation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import one.digitalinnovation.beerstock.config.ReservationProperties;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.ReservationCapacityExceededException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Holds stock for checkouts without touching {@code Beer.quantity} until a hold is confirmed.
+ * Holds live in memory only: each beer with outstanding holds has a {@link Holds} entry whose
+ * running total makes available-to-sell ({@code quantity - held}) an O(1) read, and every hold is
+ * queued by deadline in a {@link TimingWheel} advanced by a single thread, so expiring a hold
+ * costs O(1) no matter how many are outstanding.
+ * <p>
+ * Reserving, confirming and decrementing a beer with outstanding holds take that beer's lock, and
+ * a batch of stock movements takes the locks of every beer it decrements, so units on hold cannot
+ * be sold twice. Beers without holds are decremented without it; a decrement already running when
+ * a beer gets its first hold is not checked against that hold, which then fails at confirmation
+ * like any decrement beyond the stock.
+ */
+@Component
+public class StockReservations {
+
+    private final ReservationProperties properties;
+    private final long tickMillis;
+    private final TimingWheel wheel;
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<Long, Holds> holdsByBeer = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Counter created;
+    private final Counter confirmed;
+    private final Counter cancelled;
+    private final Counter expired;
+    private final Thread expirer = new Thread(this::expireLoop, "beer-reservation-expirer");
+    private volatile boolean running = true;
+
+    public StockReservations(ReservationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tickMillis = Math.max(1, properties.getTick().toMillis());
+        this.wheel = new TimingWheel(tickMillis, properties.getWheelSize(), System.currentTimeMillis());
+        Gauge.builder("beerstock.reservations.outstanding", outstanding, AtomicInteger::get)
+                .description("Stock holds not yet confirmed, cancelled or expired")
+                .register(meterRegistry);
+        this.created = Counter.builder("beerstock.reservations.created")
+                .description("Stock holds placed")
+                .register(meterRegistry);
+        this.confirmed = released(meterRegistry, "confirmed");
+        this.cancelled = released(meterRegistry, "cancelled");
+        this.expired = released(meterRegistry, "expired");
+        expirer.setDaemon(true);
+    }
+
+    private static Counter released(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("beerstock.reservations.released")
+                .description("Stock holds released")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        expirer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(expirer);
+    }
+
+    /**
+     * Reads the beer's current quantity, called with the beer's lock held.
+     */
+    @FunctionalInterface
+    public interface StockReader {
+
+        int quantity() throws BeerNotFoundException;
+    }
+
+    /**
+     * Moves the beer's stock, called with the beer's lock held when it has holds.
+     */
+    @FunctionalInterface
+    public interface StockAdjustment<T> {
+
+        T apply(int units) throws BeerNotFoundException, BeerStockExceededException;
+    }
+
+    public ReservationDTO reserve(Long beerId, int quantity, Duration ttl, StockReader stock)
+            throws BeerNotFoundException, BeerStockExceededException, ReservationCapacityExceededException {
+        if (outstanding.incrementAndGet() > properties.getMaxOutstanding()) {
+            outstanding.decrementAndGet();
+            throw new ReservationCapacityExceededException(properties.getMaxOutstanding());
+        }
+        boolean placed = false;
+        try {
+            Holds holds = lockHolds(beerId, true);
+            try {
+                if (quantity > stock.quantity() - holds.held) {
+                    throw new BeerStockExceededException(beerId, quantity);
+                }
+                Reservation reservation = new Reservation(ids.incrementAndGet(), beerId, quantity,
+                        System.currentTimeMillis() + effectiveTtl(ttl).toMillis(), holds);
+                holds.held += quantity;
+                reservations.put(reservation.id, reservation);
+                synchronized (wheel) {
+                    wheel.schedule(reservation);
+                }
+                placed = true;
+                created.increment();
+                return toDTO(reservation);
+            } finally {
+                holds.lock.unlock();
+            }
+        } finally {
+            if (!placed) {
+                outstanding.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Releases the hold and passes its quantity to {@code decrement} under the beer's lock, so the
+     * units go straight from held to sold. The hold is gone even if the decrement fails.
+     */
+    public <T> T confirm(Long beerId, Long reservationId, StockAdjustment<T> decrement)
+            throws ReservationNotFoundException, BeerNotFoundException, BeerStockExceededException {
+        Reservation reservation = find(beerId, reservationId);
+        reservation.holds.lock.lock();
+        try {
+            if (!release(reservation)) {
+                throw new ReservationNotFoundException(beerId, reservationId);
+            }
+            confirmed.increment();
+            return decrement.apply(reservation.quantity);
+        } finally {
+            reservation.holds.lock.unlock();
+        }
+    }
+
+    public void cancel(Long beerId, Long reservationId) throws ReservationNotFoundException {
+        Reservation reservation = find(beerId, reservationId);
+        reservation.holds.lock.lock();
+        try {
+            if (!release(reservation)) {
+                throw new ReservationNotFoundException(beerId, reservationId);
+            }
+            cancelled.increment();
+        } finally {
+            reservation.holds.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a decrement given the units currently held for the beer, under its lock if it has any.
+     */
+    public <T> T guard(Long beerId, StockAdjustment<T> decrement) throws BeerNotFoundException, BeerStockExceededException {
+        Holds holds = lockHolds(beerId, false);
+        if (holds == null) {
+            return decrement.apply(0);
+        }
+        try {
+            return decrement.apply(holds.held);
+        } finally {
+            holds.lock.unlock();
+        }
+    }
+
+    /**
+     * Runs a batch of decrements given the units held for each beer that has holds, under the
+     * locks of those beers. The locks are taken in id order, so two batches never wait on each
+     * other in a cycle.
+     */
+    public <T> T guardAll(Collection<Long> beerIds, Function<Map<Long, Integer>, T> decrements) {
+        List<Long> ids = new ArrayList<>(beerIds);
+        Collections.sort(ids);
+        List<Holds> locked = new ArrayList<>();
+        Map<Long, Integer> heldById = new HashMap<>();
+        try {
+            for (Long id : ids) {
+                Holds holds = lockHolds(id, false);
+                if (holds != null) {
+                    locked.add(holds);
+                    heldById.put(id, holds.held);
+                }
+            }
+            return decrements.apply(heldById);
+        } finally {
+            locked.forEach(holds -> holds.lock.unlock());
+        }
+    }
+
+    public int held(Long beerId) {
+        Holds holds = holdsByBeer.get(beerId);
+        return holds == null ? 0 : holds.held;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Forgets the totals of a deleted beer, so a beer restored under the same id starts without
+     * holds. Its reservations are left to expire; confirming one fails as the beer is gone.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (event.type() == BeerChangedEvent.ChangeType.DELETED) {
+            holdsByBeer.remove(event.beer().getId());
+        }
+    }
+
+    private Reservation find(Long beerId, Long reservationId) throws ReservationNotFoundException {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || reservation.beerId != beerId) {
+            throw new ReservationNotFoundException(beerId, reservationId);
+        }
+        return reservation;
+    }
+
+    /**
+     * Locks the beer's entry, creating it if asked to. An entry is dropped once its last hold is
+     * released, so one found stale after waiting for its lock is retried.
+     */
+    private Holds lockHolds(Long beerId, boolean create) {
+        while (true) {
+            Holds holds = create ? holdsByBeer.computeIfAbsent(beerId, id -> new Holds()) : holdsByBeer.get(beerId);
+            if (holds == null) {
+                return null;
+            }
+            holds.lock.lock();
+            if (holdsByBeer.get(beerId) == holds) {
+                return holds;
+            }
+            holds.lock.unlock();
+        }
+    }
+
+    /**
+     * Claims the reservation for whichever of confirm, cancel or expiry gets here first; called
+     * with its beer's lock held.
+     */
+    private boolean release(Reservation reservation) {
+        if (!reservations.remove(reservation.id, reservation)) {
+            return false;
+        }
+        synchronized (wheel) {
+            wheel.cancel(reservation);
+        }
+        Holds holds = reservation.holds;
+        holds.held -= reservation.quantity;
+        if (holds.held == 0) {
+            holdsByBeer.remove(reservation.beerId, holds);
+        }
+        outstanding.decrementAndGet();
+        return true;
+    }
+
+    private void expireLoop() {
+        List<Reservation> due = new ArrayList<>();
+        long tickNanos = Duration.ofMillis(tickMillis).toNanos();
+        while (running) {
+            LockSupport.parkNanos(this, tickNanos);
+            synchronized (wheel) {
+                wheel.advance(System.currentTimeMillis(), due::add);
+            }
+            // Released outside the wheel's monitor: reserving takes a beer's lock and then the wheel's.
+            for (Reservation reservation : due) {
+                reservation.holds.lock.lock();
+                try {
+                    if (release(reservation)) {
+                        expired.increment();
+                    }
+                } finally {
+                    reservation.holds.lock.unlock();
+                }
+            }
+            due.clear();
+        }
+    }
+
+    private Duration effectiveTtl(Duration ttl) {
+        if (ttl == null) {
+            return properties.getDefaultTtl();
+        }
+        Duration minTtl = Duration.ofMillis(tickMillis);
+        return ttl.compareTo(minTtl) < 0 ? minTtl : ttl.compareTo(properties.getMaxTtl()) > 0 ? properties.getMaxTtl() : ttl;
+    }
+
+    private static ReservationDTO toDTO(Reservation reservation) {
+        return ReservationDTO.builder()
+                .id(reservation.id)
+                .beerId(reservation.beerId)
+                .quantity(reservation.quantity)
+                .expiresAt(Instant.ofEpochMilli(reservation.deadline))
+                .build();
+    }
+
+    /**
+     * Units held for one beer. A {@link ReentrantLock} rather than a monitor, since decrements run
+     * stock store calls under it and a virtual thread blocking inside {@code synchronized} pins its
+     * carrier.
+     */
+    static final class Holds {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        // Written under lock, read without it for availability.
+        private volatile int held;
+    }
+}
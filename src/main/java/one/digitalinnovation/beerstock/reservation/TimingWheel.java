@@ -0,0 +1,140 @@
+package one.digitalinnovation.beerstock.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) of reservations by deadline, in epoch millis.
+ * Level 0 has {@code wheelSize} slots of one tick; each level above has slots as wide as the whole
+ * level below and is only allocated once a deadline needs it. Scheduling and cancelling are O(1),
+ * and advancing drains one slot per tick plus, on level boundaries, the slot above, whose
+ * reservations cascade into the finer levels. A reservation expires within one tick after its
+ * deadline, never before. Not thread-safe.
+ */
+final class TimingWheel {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    // Start of the level 0 slot that has not expired yet.
+    private long clock;
+
+    TimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.clock = nowMillis - Math.floorMod(nowMillis, tickMillis);
+    }
+
+    /**
+     * @return false, without scheduling it, if the reservation's deadline already passed
+     */
+    boolean schedule(Reservation reservation) {
+        if (reservation.deadline < clock) {
+            return false;
+        }
+        long span = tickMillis;
+        for (int level = 0; ; level++) {
+            long slot = reservation.deadline / span;
+            // A deadline in a level's current slot always fits the level below, so slots of the
+            // levels above are only ever filled ahead of the clock.
+            if (slot - clock / span < wheelSize) {
+                bucket(level, slot).add(reservation);
+                return true;
+            }
+            span = Math.multiplyExact(span, wheelSize);
+        }
+    }
+
+    void cancel(Reservation reservation) {
+        if (reservation.bucket != null) {
+            reservation.bucket.remove(reservation);
+        }
+    }
+
+    /**
+     * Moves the clock up to {@code nowMillis}, handing every reservation that expired on the way
+     * to {@code expired}.
+     */
+    void advance(long nowMillis, Consumer<Reservation> expired) {
+        while (clock + tickMillis <= nowMillis) {
+            drain(0, clock / tickMillis, expired);
+            clock += tickMillis;
+            long span = tickMillis;
+            for (int level = 1; level < levels.size(); level++) {
+                span *= wheelSize;
+                if (clock % span != 0) {
+                    break;
+                }
+                drain(level, clock / span, reservation -> {
+                    if (!schedule(reservation)) {
+                        expired.accept(reservation);
+                    }
+                });
+            }
+        }
+    }
+
+    private void drain(int level, long slot, Consumer<Reservation> consumer) {
+        if (level >= levels.size()) {
+            return;
+        }
+        Reservation reservation = levels.get(level)[(int) (slot % wheelSize)].detachAll();
+        while (reservation != null) {
+            Reservation next = reservation.next;
+            reservation.prev = null;
+            reservation.next = null;
+            consumer.accept(reservation);
+            reservation = next;
+        }
+    }
+
+    private Bucket bucket(int level, long slot) {
+        while (levels.size() <= level) {
+            Bucket[] buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level)[(int) (slot % wheelSize)];
+    }
+
+    static final class Bucket {
+
+        private Reservation head;
+
+        private void add(Reservation reservation) {
+            reservation.bucket = this;
+            reservation.prev = null;
+            reservation.next = head;
+            if (head != null) {
+                head.prev = reservation;
+            }
+            head = reservation;
+        }
+
+        private void remove(Reservation reservation) {
+            if (reservation.prev != null) {
+                reservation.prev.next = reservation.next;
+            } else {
+                head = reservation.next;
+            }
+            if (reservation.next != null) {
+                reservation.next.prev = reservation.prev;
+            }
+            reservation.bucket = null;
+            reservation.prev = null;
+            reservation.next = null;
+        }
+
+        private Reservation detachAll() {
+            Reservation first = head;
+            head = null;
+            for (Reservation reservation = first; reservation != null; reservation = reservation.next) {
+                reservation.bucket = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package one.digitalinnovation.beerstock.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchResultDTO;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.repository.BeerNameView;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search index over beer names and brands, normalized to lower case without accents.
+ * Prefix lookups walk a sorted map of {@code token\0id} keys; when they yield fewer than the
+ * requested results the index falls back to trigram matching, which tolerates typos.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerSearchIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int MAX_LIMIT = 50;
+    private static final int PREFIX_SCAN_FACTOR = 8;
+    private static final double FUZZY_WEIGHT = 0.8;
+    private static final double MIN_TRIGRAM_MATCH = 0.5;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Long> tokens = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        entries.clear();
+        tokens.clear();
+        trigrams.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BeerNameView> beers = beerRepository.streamNames()) {
+                beers.forEach(beer -> add(beer.getId(), beer.getName(), beer.getBrand()));
+            }
+        });
+        log.info("Search index built with {} beers", entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        BeerDTO beer = event.beer();
+        switch (event.type()) {
+            case CREATED -> add(beer.getId(), beer.getName(), beer.getBrand());
+            case DELETED -> remove(beer.getId());
+            default -> {
+            }
+        }
+    }
+
+    public void add(Long id, String name, String brand) {
+        remove(id);
+        Entry entry = new Entry(id, name, brand);
+        entries.put(id, entry);
+        tokensOf(entry).forEach(token -> tokens.put(token + SEPARATOR + id, id));
+        trigramsOf(entry).forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    public void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        tokensOf(entry).forEach(token -> tokens.remove(token + SEPARATOR + id));
+        trigramsOf(entry).forEach(trigram -> {
+            Set<Long> ids = trigrams.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        });
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<BeerSearchResultDTO> search(String query, int limit) {
+        String normalizedQuery = query == null ? "" : normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Map<Long, Double> scores = new HashMap<>();
+        collectPrefixMatches(normalizedQuery, maxResults, scores);
+        if (scores.size() < maxResults) {
+            collectTrigramMatches(normalizedQuery, scores);
+        }
+        return topResults(scores, maxResults);
+    }
+
+    private void collectPrefixMatches(String query, int maxResults, Map<Long, Double> scores) {
+        int scanned = 0;
+        for (Map.Entry<String, Long> match : tokens.subMap(query, true, query + Character.MAX_VALUE, false).entrySet()) {
+            int tokenLength = match.getKey().indexOf(SEPARATOR);
+            double score = tokenLength == query.length() ? 1.0 : 0.5 + 0.5 * query.length() / tokenLength;
+            scores.merge(match.getValue(), score, Math::max);
+            if (++scanned >= maxResults * PREFIX_SCAN_FACTOR) {
+                return;
+            }
+        }
+    }
+
+    private void collectTrigramMatches(String query, Map<Long, Double> scores) {
+        Set<String> queryTrigrams = new HashSet<>();
+        for (String word : query.split(" ")) {
+            addTrigrams(word, queryTrigrams);
+        }
+        if (queryTrigrams.isEmpty()) {
+            return;
+        }
+        int commonPostingLimit = Math.max(1_000, entries.size() / 10);
+        Map<Long, Integer> overlap = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<Long> ids = trigrams.get(trigram);
+            if (ids != null && ids.size() <= commonPostingLimit) {
+                ids.forEach(id -> overlap.merge(id, 1, Integer::sum));
+            }
+        }
+        overlap.forEach((id, matches) -> {
+            double match = (double) matches / queryTrigrams.size();
+            if (match >= MIN_TRIGRAM_MATCH) {
+                scores.merge(id, FUZZY_WEIGHT * match, Math::max);
+            }
+        });
+    }
+
+    private List<BeerSearchResultDTO> topResults(Map<Long, Double> scores, int maxResults) {
+        Comparator<Map.Entry<Long, Double>> byScore = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(maxResults + 1, byScore);
+        for (Map.Entry<Long, Double> score : scores.entrySet()) {
+            top.offer(score);
+            if (top.size() > maxResults) {
+                top.poll();
+            }
+        }
+        List<BeerSearchResultDTO> results = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Long, Double> score = top.poll();
+            Entry entry = entries.get(score.getKey());
+            if (entry != null) {
+                results.add(0, BeerSearchResultDTO.builder()
+                        .id(entry.id())
+                        .name(entry.name())
+                        .brand(entry.brand())
+                        .score(score.getValue())
+                        .build());
+            }
+        }
+        return results;
+    }
+
+    static String normalize(String text) {
+        String withoutAccents = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static Set<String> tokensOf(Entry entry) {
+        Set<String> entryTokens = new HashSet<>();
+        for (String text : List.of(normalize(entry.name()), normalize(entry.brand()))) {
+            if (!text.isEmpty()) {
+                entryTokens.add(text);
+                entryTokens.addAll(Arrays.asList(text.split(" ")));
+            }
+        }
+        return entryTokens;
+    }
+
+    private static Set<String> trigramsOf(Entry entry) {
+        Set<String> entryTrigrams = new HashSet<>();
+        for (String word : normalize(entry.name() + " " + entry.brand()).split(" ")) {
+            addTrigrams(word, entryTrigrams);
+        }
+        return entryTrigrams;
+    }
+
+    /**
+     * Only alphabetic words of three or more letters feed the trigram index: numbers and short
+     * words add large posting lists without helping typo tolerance.
+     */
+    private static void addTrigrams(String word, Set<String> target) {
+        if (word.length() < 3 || !word.chars().allMatch(Character::isLetter)) {
+            return;
+        }
+        String padded = " " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            target.add(padded.substring(i, i + 3));
+        }
+    }
+
+    private record Entry(Long id, String name, String brand) {
+    }
+}
@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerstock.service;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.config.BeerImportProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line import: {@code --beerstock.import.file=beers.csv} (or {@code .json}) imports the
+ * file on startup. Combine with {@code --spring.main.web-application-type=none} to exit afterwards.
+ */
+@Component
+@ConditionalOnProperty(prefix = "beerstock.import", name = "file")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerImportRunner implements ApplicationRunner {
+
+    private final BeerImportService beerImportService;
+    private final BeerImportProperties beerImportProperties;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = beerImportProperties.getFile();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            if (file.getFileName().toString().toLowerCase().endsWith(".csv")) {
+                beerImportService.importCsv(inputStream);
+            } else {
+                beerImportService.importJson(inputStream);
+            }
+        }
+    }
+}
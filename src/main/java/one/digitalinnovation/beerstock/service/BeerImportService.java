@@ -0,0 +1,219 @@
+package one.digitalinnovation.beerstock.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.config.BeerImportProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.stock.StockStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams large JSON arrays or CSV files of beers into the repository in fixed-size chunks.
+ * Each chunk checks duplicate names with one set-based query and is inserted in its own
+ * transaction, so memory use depends on the chunk size and never on the input size.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class BeerImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("name", "brand", "max", "quantity", "type");
+
+    private final BeerRepository beerRepository;
+    private final StockStore stockStore;
+    private final BeerNameCache beerNameCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BeerImportProperties beerImportProperties;
+    private final BeerMapper beerMapper;
+
+    public BeerImportReportDTO importJson(InputStream inputStream) throws IOException {
+        Progress progress = new Progress();
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of beers");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                BeerDTO beerDTO = token == JsonToken.START_OBJECT ? fromJson(objectMapper.readTree(parser)) : null;
+                if (beerDTO == null) {
+                    // readTree already consumed a bad object; a nested array is skipped here as a whole.
+                    parser.skipChildren();
+                    progress.skip();
+                } else {
+                    progress.add(beerDTO);
+                }
+            }
+        }
+        return progress.finish();
+    }
+
+    public BeerImportReportDTO importCsv(InputStream inputStream) throws IOException {
+        Progress progress = new Progress();
+        try (CSVReader reader = new CSVReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader.readNext());
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                BeerDTO beerDTO = fromCsv(row, columns);
+                if (beerDTO == null) {
+                    progress.skip();
+                } else {
+                    progress.add(beerDTO);
+                }
+            }
+        } catch (CsvValidationException e) {
+            throw new IOException("Malformed CSV input", e);
+        }
+        return progress.finish();
+    }
+
+    private Map<String, Integer> readHeader(String[] header) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IOException("CSV header must contain the columns " + CSV_COLUMNS);
+        }
+        return columns;
+    }
+
+    /**
+     * Binds one already parsed array element, so a record with wrong field types is counted as
+     * invalid like a malformed CSV row instead of aborting the import.
+     */
+    private BeerDTO fromJson(JsonNode node) {
+        try {
+            return objectMapper.treeToValue(node, BeerDTO.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private BeerDTO fromCsv(String[] row, Map<String, Integer> columns) {
+        try {
+            return BeerDTO.builder()
+                    .name(row[columns.get("name")].trim())
+                    .brand(row[columns.get("brand")].trim())
+                    .max(Integer.valueOf(row[columns.get("max")].trim()))
+                    .quantity(Integer.valueOf(row[columns.get("quantity")].trim()))
+                    .type(BeerType.valueOf(row[columns.get("type")].trim().toUpperCase(Locale.ROOT)))
+                    .build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private int insertChunk(List<BeerDTO> chunk, Progress progress) {
+        Map<String, Beer> beersByName = new LinkedHashMap<>();
+        for (BeerDTO beerDTO : chunk) {
+            if (!validator.validate(beerDTO).isEmpty()) {
+                progress.invalid++;
+            } else if (beersByName.putIfAbsent(beerDTO.getName(), newBeer(beerDTO)) != null) {
+                progress.duplicates++;
+            }
+        }
+        if (beersByName.isEmpty()) {
+            return 0;
+        }
+        List<Beer> savedBeers = transactionTemplate.execute(status -> {
+            Set<String> existingNames = beerRepository.findExistingNames(beersByName.keySet());
+            existingNames.forEach(beersByName::remove);
+            progress.duplicates += existingNames.size();
+            return beerRepository.saveAll(beersByName.values());
+        });
+        savedBeers.forEach(beer -> {
+            stockStore.register(beer);
+            beerNameCache.evict(beer.getName());
+            eventPublisher.publishEvent(BeerChangedEvent.created(beerMapper.toDTO(beer)));
+        });
+        return savedBeers.size();
+    }
+
+    /**
+     * Imports only create beers: an id in the input, as in a re-imported export, is dropped so
+     * that saveAll never merges the row into the beer that already has it.
+     */
+    private Beer newBeer(BeerDTO beerDTO) {
+        Beer beer = beerMapper.toModel(beerDTO);
+        beer.setId(null);
+        return beer;
+    }
+
+    private class Progress {
+
+        private final long startedAt = System.nanoTime();
+        private final List<BeerDTO> chunk = new ArrayList<>(beerImportProperties.getChunkSize());
+        private long read;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+
+        private void add(BeerDTO beerDTO) {
+            read++;
+            chunk.add(beerDTO);
+            if (chunk.size() >= beerImportProperties.getChunkSize()) {
+                flush();
+            }
+        }
+
+        private void skip() {
+            read++;
+            invalid++;
+        }
+
+        private void flush() {
+            imported += insertChunk(chunk, this);
+            chunk.clear();
+        }
+
+        private BeerImportReportDTO finish() {
+            flush();
+            long elapsedNanos = Math.max(1, System.nanoTime() - startedAt);
+            BeerImportReportDTO report = BeerImportReportDTO.builder()
+                    .read(read)
+                    .imported(imported)
+                    .duplicates(duplicates)
+                    .invalid(invalid)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .rowsPerSecond(read * 1_000_000_000d / elapsedNanos)
+                    .build();
+            log.info("Beer import finished: {}", report);
+            return report;
+        }
+    }
+}
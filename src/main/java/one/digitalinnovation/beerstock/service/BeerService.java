@@ -1,85 +1,452 @@
 package one.digitalinnovation.beerstock.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.change.BeerChangeClock;
+import one.digitalinnovation.beerstock.config.BeerChangesProperties;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.dto.BeerChangesDTO;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchResultDTO;
+import one.digitalinnovation.beerstock.dto.InventoryMismatchDTO;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.dto.LowStockDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.dto.ReservationRequestDTO;
+import one.digitalinnovation.beerstock.dto.StockAvailabilityDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.dto.StockQuantityAtDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.BeerTombstone;
+import one.digitalinnovation.beerstock.enums.StockMovementStatus;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.InvalidCursorException;
+import one.digitalinnovation.beerstock.exception.ReservationCapacityExceededException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.exception.StockHistoryUnavailableException;
+import one.digitalinnovation.beerstock.exception.StockUpdateConflictException;
 import one.digitalinnovation.beerstock.mapper.BeerMapper;
 import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.BeerTombstoneRepository;
+import one.digitalinnovation.beerstock.lowstock.LowStockIndex;
+import one.digitalinnovation.beerstock.reservation.StockReservations;
+import one.digitalinnovation.beerstock.search.BeerSearchIndex;
+import one.digitalinnovation.beerstock.stats.InventoryRollups;
+import one.digitalinnovation.beerstock.stock.StockStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor(onConstructor = @__(@Autowired))
 public class BeerService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String CURSOR_PREFIX = "id:";
+
     private final BeerRepository beerRepository;
-    private final BeerMapper beerMapper = BeerMapper.INSTANCE;
+    private final StockStore stockStore;
+    private final EntityManager entityManager;
+    private final BeerNameCache beerNameCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerSearchIndex beerSearchIndex;
+    private final BeerMapper beerMapper;
+    private final BeerTombstoneRepository beerTombstoneRepository;
+    private final BeerChangeClock beerChangeClock;
+    private final LowStockIndex lowStockIndex;
+    private final InventoryRollups inventoryRollups;
+    private final StockReservations stockReservations;
+    private final StockProperties stockProperties;
+    private final BeerChangesProperties beerChangesProperties;
 
     public BeerDTO createBeer(BeerDTO beerDTO) throws BeerAlreadyRegisteredException {
         verifyIfIsAlreadyRegistered(beerDTO.getName());
         Beer beer = beerMapper.toModel(beerDTO);
-        Beer savedBeer = beerRepository.save(beer);
-        return beerMapper.toDTO(savedBeer);
+        Beer savedBeer;
+        try {
+            savedBeer = beerRepository.save(beer);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent create, here or on another instance, got the name first.
+            throw new BeerAlreadyRegisteredException(beerDTO.getName());
+        }
+        stockStore.register(savedBeer);
+        BeerDTO savedBeerDTO = beerMapper.toDTO(savedBeer);
+        beerNameCache.put(savedBeerDTO);
+        eventPublisher.publishEvent(BeerChangedEvent.created(savedBeerDTO));
+        return savedBeerDTO;
     }
 
     public BeerDTO findByName(String name) throws BeerNotFoundException {
-        Beer foundBeer = beerRepository.findByName(name)
+        return beerNameCache.get(name, this::loadByName)
                 .orElseThrow(() -> new BeerNotFoundException(name));
-        return beerMapper.toDTO(foundBeer);
     }
 
     public List<BeerDTO> listAll() {
         return beerRepository.findAll()
                 .stream()
-                .map(beerMapper::toDTO)
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    public BeerPageDTO listPage(String cursor, int limit) throws InvalidCursorException {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Beer> beers = beerRepository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor), Limit.of(pageSize + 1));
+        List<BeerDTO> items = beers.stream()
+                .limit(pageSize)
+                .map(this::toDTO)
                 .collect(Collectors.toList());
+        String nextCursor = beers.size() > pageSize ? encodeCursor(items.get(items.size() - 1).getId()) : null;
+        return BeerPageDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<BeerDTO> consumer) {
+        try (Stream<Beer> beers = beerRepository.streamAll()) {
+            beers.forEach(beer -> {
+                consumer.accept(toDTO(beer));
+                entityManager.detach(beer);
+            });
+        }
+    }
+
+    /**
+     * Weak ETag of the full list. It is taken before the list is read, so a change committing
+     * in between can only make the next poll fetch again, never hide it.
+     */
+    public String catalogETag() {
+        return "W/\"" + beerChangeClock.stableVersion() + "\"";
+    }
+
+    /**
+     * Beers created or updated and ids deleted after {@code since}, up to the current stable
+     * version and at most {@code max-changes} of them per call. A beer deleted and then restored
+     * under the same id is only reported as changed. A {@code since} ahead of this server or older
+     * than the tombstones kept starts a reset, which pages through the catalog by {@code cursor}.
+     */
+    @Transactional(readOnly = true)
+    public BeerChangesDTO changesSince(long since, String cursor) throws InvalidCursorException {
+        long version = beerChangeClock.stableVersion();
+        if (cursor != null && since <= version) {
+            return resetPage(since, cursor);
+        }
+        if (since > version || since < tombstoneHorizon(version)) {
+            return resetPage(version, null);
+        }
+        long upTo = pageEnd(since, version, beerChangesProperties.getMaxChanges());
+        List<BeerDTO> changed = beerRepository.findChangedBetween(since, upTo).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+        Set<Long> changedIds = changed.stream().map(BeerDTO::getId).collect(Collectors.toSet());
+        List<Long> deleted = beerTombstoneRepository.findDeletedIds(since, upTo).stream()
+                .filter(deletedId -> !changedIds.contains(deletedId))
+                .collect(Collectors.toList());
+        return BeerChangesDTO.builder()
+                .version(upTo)
+                .reset(false)
+                .more(upTo < version)
+                .changed(changed)
+                .deleted(deleted)
+                .build();
+    }
+
+    private BeerChangesDTO resetPage(long version, String cursor) throws InvalidCursorException {
+        BeerPageDTO page = listPage(cursor, beerChangesProperties.getMaxChanges());
+        return BeerChangesDTO.builder()
+                .version(version)
+                .reset(true)
+                .more(page.getNextCursor() != null)
+                .cursor(page.getNextCursor())
+                .changed(page.getItems())
+                .deleted(List.of())
+                .build();
+    }
+
+    /**
+     * Version of the {@code maxChanges}-th change after {@code since}, counting beers and
+     * tombstones, or {@code version} when fewer are waiting. Every row stamped with that version
+     * goes in the same response, since a bulk movement stamps one version on many rows and the
+     * next poll starts after it.
+     */
+    private long pageEnd(long since, long version, int maxChanges) {
+        Limit limit = Limit.of(maxChanges + 1);
+        List<Long> versions = Stream.concat(
+                        beerRepository.findChangeVersionsBetween(since, version, limit).stream(),
+                        beerTombstoneRepository.findVersionsBetween(since, version, limit).stream())
+                .sorted()
+                .toList();
+        return versions.size() > maxChanges ? versions.get(maxChanges - 1) : version;
+    }
+
+    private long tombstoneHorizon(long version) {
+        return version - beerChangesProperties.getTombstoneRetention();
     }
 
+    @Transactional
     public void deleteById(Long id) throws BeerNotFoundException {
-        verifyIfExists(id);
+        BeerDTO beerToDelete = toDTO(verifyIfExists(id));
         beerRepository.deleteById(id);
+        beerTombstoneRepository.save(new BeerTombstone(id, beerChangeClock.next()));
+        beerTombstoneRepository.deleteUpTo(tombstoneHorizon(beerChangeClock.stableVersion()));
+        // Until the delete commits, a concurrent lookup can still load the row and cache it again.
+        afterCommit(() -> {
+            stockStore.unregister(id);
+            beerNameCache.evict(beerToDelete.getName());
+        });
+        eventPublisher.publishEvent(BeerChangedEvent.deleted(beerToDelete));
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
+    /**
+     * Asks the database rather than the name cache: a miss cached before another instance created
+     * the name would let the insert run into the unique constraint.
+     */
     private void verifyIfIsAlreadyRegistered(String name) throws BeerAlreadyRegisteredException {
-        Optional<Beer> optSavedBeer = beerRepository.findByName(name);
-        if (optSavedBeer.isPresent()) {
+        if (beerRepository.existsByName(name)) {
             throw new BeerAlreadyRegisteredException(name);
         }
     }
 
+    private Optional<BeerDTO> loadByName(String name) {
+        return beerRepository.findByName(name).map(this::toDTO);
+    }
+
     private Beer verifyIfExists(Long id) throws BeerNotFoundException {
         return beerRepository.findById(id)
                 .orElseThrow(() -> new BeerNotFoundException(id));
     }
 
-    public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
-        Beer beerToIncrementStock = verifyIfExists(id);
-        int quantityAfterIncrement = quantityToIncrement + beerToIncrementStock.getQuantity();
-        if (quantityAfterIncrement <= beerToIncrementStock.getMax()) {
-            beerToIncrementStock.setQuantity(beerToIncrementStock.getQuantity() + quantityToIncrement);
-            Beer incrementedBeerStock = beerRepository.save(beerToIncrementStock);
-            return beerMapper.toDTO(incrementedBeerStock);
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) throws InvalidCursorException {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
         }
-        throw new BeerStockExceededException(id, quantityToIncrement);
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.valueOf(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the invalid cursor error below
+        }
+        throw new InvalidCursorException(cursor);
+    }
+
+    private BeerDTO toDTO(Beer beer) {
+        return stockStore.overlay(beerMapper.toDTO(beer));
+    }
+
+    public List<BeerSearchResultDTO> search(String query, int limit) {
+        return beerSearchIndex.search(query, limit);
+    }
+
+    public List<LowStockDTO> listLowStock() {
+        return lowStockIndex.lowStock();
+    }
+
+    public InventoryStatsDTO inventoryStats() {
+        return inventoryRollups.stats();
+    }
+
+    public List<InventoryMismatchDTO> checkInventoryStats() {
+        return inventoryRollups.check();
+    }
+
+    public BeerDTO increment(Long id, int quantityToIncrement) throws BeerNotFoundException, BeerStockExceededException {
+        return adjustStock(id, quantityToIncrement);
     }
 
     // Correção de BUG
 
     public BeerDTO decrement(Long id, int quantityToDecrement) throws BeerNotFoundException, BeerStockExceededException {
-        Beer beerToDecrementStock = verifyIfExists(id);
-        int newQuantity = beerToDecrementStock.getQuantity() - quantityToDecrement;
-        if (newQuantity >= 0) {
-            beerToDecrementStock.setQuantity(newQuantity);
-            Beer decrementedBeerStock = beerRepository.save(beerToDecrementStock);
-            return beerMapper.toDTO(decrementedBeerStock);
+        return adjustStock(id, -quantityToDecrement);
+    }
+
+    private BeerDTO adjustStock(Long id, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        Beer beer = delta < 0
+                ? stockReservations.guard(id, held -> decrementAboveHeld(id, delta, held))
+                : retrying(id, () -> stockStore.adjust(id, delta));
+        return stockChanged(beer, delta);
+    }
+
+    /**
+     * Units on hold are not for sale, so a decrement must leave at least {@code held} in stock.
+     */
+    private Beer decrementAboveHeld(Long id, int delta, int held) throws BeerNotFoundException, BeerStockExceededException {
+        if (held > 0 && currentQuantity(id) + delta < held) {
+            throw new BeerStockExceededException(id, -delta);
         }
-        throw new BeerStockExceededException(id, quantityToDecrement);
+        return retrying(id, () -> stockStore.adjust(id, delta));
+    }
+
+    /**
+     * Runs a stock write again, after a random pause that doubles up to {@code max-backoff}, when
+     * it lost a lock or version race with another transaction, typically from another instance.
+     */
+    private Beer retrying(Long id, StockWrite write) throws BeerNotFoundException, BeerStockExceededException {
+        StockProperties.Retry retry = stockProperties.getRetry();
+        long backoffNanos = retry.getInitialBackoff().toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return write.run();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= retry.getMaxAttempts()) {
+                    throw new StockUpdateConflictException(id, attempt, e);
+                }
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(backoffNanos + 1));
+                backoffNanos = Math.min(backoffNanos * 2, retry.getMaxBackoff().toNanos());
+            }
+        }
+    }
+
+    private interface StockWrite {
+
+        Beer run() throws BeerNotFoundException, BeerStockExceededException;
+    }
+
+    private BeerDTO stockChanged(Beer beer, int delta) {
+        BeerDTO adjustedBeer = beerMapper.toDTO(beer);
+        beerNameCache.evict(adjustedBeer.getName());
+        eventPublisher.publishEvent(BeerChangedEvent.stockChanged(adjustedBeer, delta));
+        return adjustedBeer;
+    }
+
+    public ReservationDTO reserve(Long id, ReservationRequestDTO request)
+            throws BeerNotFoundException, BeerStockExceededException, ReservationCapacityExceededException {
+        return stockReservations.reserve(id, request.getQuantity(), request.getTtl(), () -> currentQuantity(id));
+    }
+
+    public BeerDTO confirmReservation(Long id, Long reservationId)
+            throws ReservationNotFoundException, BeerNotFoundException, BeerStockExceededException {
+        return stockReservations.confirm(id, reservationId,
+                quantity -> stockChanged(retrying(id, () -> stockStore.adjust(id, -quantity)), -quantity));
+    }
+
+    public void cancelReservation(Long id, Long reservationId) throws ReservationNotFoundException {
+        stockReservations.cancel(id, reservationId);
+    }
+
+    public StockAvailabilityDTO availability(Long id) throws BeerNotFoundException {
+        int quantity = currentQuantity(id);
+        int reserved = stockReservations.held(id);
+        return StockAvailabilityDTO.builder()
+                .id(id)
+                .quantity(quantity)
+                .reserved(reserved)
+                .available(Math.max(0, quantity - reserved))
+                .build();
+    }
+
+    private int currentQuantity(Long id) throws BeerNotFoundException {
+        return toDTO(verifyIfExists(id)).getQuantity();
+    }
+
+    public StockQuantityAtDTO quantityAt(Long id, Instant at) throws BeerNotFoundException, StockHistoryUnavailableException {
+        return StockQuantityAtDTO.builder()
+                .id(id)
+                .at(at)
+                .quantity(stockStore.quantityAt(id, at))
+                .build();
+    }
+
+    /**
+     * Nets the movements of each beer in a {@code long}, so a beer whose deltas add up beyond the
+     * {@code int} range is reported as exceeded on its own while the rest of the batch is applied.
+     * Like a single decrement, a net decrement must leave the units on hold in stock.
+     */
+    public List<StockMovementResultDTO> applyStockMovements(List<StockMovementDTO> movements) {
+        Map<Long, Long> netById = new LinkedHashMap<>();
+        for (StockMovementDTO movement : movements) {
+            netById.merge(movement.getId(), movement.getDelta().longValue(), Long::sum);
+        }
+        Map<Long, Integer> deltasById = new LinkedHashMap<>();
+        netById.forEach((id, net) -> {
+            if (net == net.intValue()) {
+                deltasById.put(id, net.intValue());
+            }
+        });
+        List<Long> decrementedIds = deltasById.entrySet().stream()
+                .filter(entry -> entry.getValue() < 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<String> adjustedNames = new ArrayList<>();
+        List<StockMovementResultDTO> results = stockReservations.guardAll(decrementedIds, heldById -> {
+            heldById.forEach((id, held) -> {
+                if (held > 0 && !keepsHeld(id, deltasById.get(id), held)) {
+                    deltasById.remove(id);
+                }
+            });
+            return stockStore.applyAll(deltasById, (beer, delta) -> {
+                adjustedNames.add(beer.getName());
+                eventPublisher.publishEvent(BeerChangedEvent.stockChanged(beerMapper.toDTO(beer), delta));
+            });
+        });
+        adjustedNames.forEach(beerNameCache::evict);
+        return deltasById.size() == netById.size() ? results : inNettingOrder(netById, results);
+    }
+
+    /**
+     * Called with the beer's holds locked, so its stock can only grow until the batch is applied.
+     * A beer that is gone is left in the batch for the store to report as not found.
+     */
+    private boolean keepsHeld(Long id, int delta, int held) {
+        try {
+            return currentQuantity(id) + delta >= held;
+        } catch (BeerNotFoundException e) {
+            return true;
+        }
+    }
+
+    private static List<StockMovementResultDTO> inNettingOrder(Map<Long, Long> netById, List<StockMovementResultDTO> applied) {
+        Map<Long, StockMovementResultDTO> appliedById = applied.stream()
+                .collect(Collectors.toMap(StockMovementResultDTO::getId, result -> result));
+        List<StockMovementResultDTO> results = new ArrayList<>(netById.size());
+        netById.forEach((id, net) -> results.add(appliedById.getOrDefault(id, StockMovementResultDTO.builder()
+                .id(id)
+                .delta(Math.clamp(net, Integer.MIN_VALUE, Integer.MAX_VALUE))
+                .status(StockMovementStatus.EXCEEDED)
+                .build())));
+        return results;
     }
 }
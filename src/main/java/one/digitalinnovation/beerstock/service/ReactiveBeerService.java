@@ -0,0 +1,85 @@
+package one.digitalinnovation.beerstock.service;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.change.BeerChangeClock;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.ReactiveBeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking version of the {@link BeerService} operations used by the reactive profile. Stock
+ * adjustments are the same bounds-checked single update as the atomic stock mode.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class ReactiveBeerService {
+
+    private final ReactiveBeerRepository reactiveBeerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BeerMapper beerMapper;
+    private final BeerChangeClock beerChangeClock;
+
+    public Mono<BeerDTO> createBeer(BeerDTO beerDTO) {
+        return reactiveBeerRepository.findByName(beerDTO.getName())
+                .flatMap(existing -> Mono.<BeerDTO>error(new BeerAlreadyRegisteredException(beerDTO.getName())))
+                .switchIfEmpty(Mono.defer(() -> reactiveBeerRepository.insert(beerDTO.getName(), beerDTO.getBrand(),
+                                beerDTO.getMax(), beerDTO.getQuantity(), beerDTO.getType().name())
+                        .then(reactiveBeerRepository.findByName(beerDTO.getName()))
+                        .map(beerMapper::toDTO)))
+                .onErrorMap(DataIntegrityViolationException.class, e -> new BeerAlreadyRegisteredException(beerDTO.getName()))
+                .doOnNext(savedBeer -> eventPublisher.publishEvent(BeerChangedEvent.created(savedBeer)));
+    }
+
+    public Mono<BeerDTO> findByName(String name) {
+        return reactiveBeerRepository.findByName(name)
+                .map(beerMapper::toDTO)
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(name)));
+    }
+
+    public Flux<BeerDTO> listAll() {
+        return reactiveBeerRepository.streamAll()
+                .map(beerMapper::toDTO);
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return reactiveBeerRepository.findBeerById(id)
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(id)))
+                .flatMap(beer -> reactiveBeerRepository.deleteBeerById(id)
+                        .doOnNext(deleted -> eventPublisher.publishEvent(BeerChangedEvent.deleted(beerMapper.toDTO(beer)))))
+                .then();
+    }
+
+    public Mono<BeerDTO> increment(Long id, int quantityToIncrement) {
+        return adjustStock(id, quantityToIncrement);
+    }
+
+    public Mono<BeerDTO> decrement(Long id, int quantityToDecrement) {
+        return adjustStock(id, -quantityToDecrement);
+    }
+
+    private Mono<BeerDTO> adjustStock(Long id, int delta) {
+        // The version stays in flight until the update completes, so changes feeds wait for it.
+        return Mono.using(beerChangeClock::nextUnmanaged,
+                        version -> reactiveBeerRepository.adjustQuantity(id, delta, version),
+                        beerChangeClock::complete)
+                .flatMap(updated -> updated > 0
+                        ? reactiveBeerRepository.findBeerById(id)
+                        : reactiveBeerRepository.existsBeerById(id).flatMap(exists -> Mono.error(exists
+                                ? new BeerStockExceededException(id, Math.abs(delta))
+                                : new BeerNotFoundException(id))))
+                .map(beerMapper::toDTO)
+                .doOnNext(adjustedBeer -> eventPublisher.publishEvent(BeerChangedEvent.stockChanged(adjustedBeer, delta)));
+    }
+}
@@ -0,0 +1,352 @@
+package one.digitalinnovation.beerstock.stats;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.config.InventoryStatsProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.InventoryMismatchDTO;
+import one.digitalinnovation.beerstock.dto.InventoryRollupDTO;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.repository.BeerLevelView;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.InventoryTotalsView;
+import one.digitalinnovation.beerstock.stock.StockStore;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Inventory totals by {@link BeerType} and by brand, kept as (skus, quantity, capacity) triples
+ * in primitive arrays: one array slotted by type ordinal and one small array per brand. Every
+ * committed change applies its delta in O(1). The database is only read to rebuild them, which
+ * splits the id range into chunks summed in parallel on a fork-join pool, and by {@link #check()}.
+ * <p>
+ * A rebuild can run while changes commit. Those arriving meanwhile still go to the current arrays
+ * and are also buffered; once every chunk is summed, the ones that arrived after their beer's
+ * chunk was read are replayed onto the new arrays, which are then swapped in under a write lock
+ * so no change lands on the arrays being replaced.
+ */
+@Slf4j
+@Component
+public class InventoryRollups {
+
+    private static final int SKUS = 0;
+    private static final int QUANTITY = 1;
+    private static final int CAPACITY = 2;
+    private static final int FIELDS = 3;
+    private static final BeerType[] TYPES = BeerType.values();
+
+    private final InventoryStatsProperties properties;
+    private final BeerRepository beerRepository;
+    private final StockStore stockStore;
+    private volatile AtomicLongArray typeTotals = new AtomicLongArray(TYPES.length * FIELDS);
+    private volatile Map<String, AtomicLongArray> brandTotals = new ConcurrentHashMap<>();
+    // Changes apply under the read lock, so they run in parallel and only wait for a swap.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    // One rebuild at a time; a lock rather than a monitor, as it is held across queries.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private Rebuild rebuilding;
+
+    public InventoryRollups(InventoryStatsProperties properties, BeerRepository beerRepository, StockStore stockStore) {
+        this.properties = properties;
+        this.beerRepository = beerRepository;
+        this.stockStore = stockStore;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        rebuild(() -> { }, () -> { });
+    }
+
+    /**
+     * Runs {@code beforeRead} once changes are buffered and {@code beforeSwap} once every chunk is
+     * summed, so a test can commit changes at either point.
+     */
+    void rebuild(Runnable beforeRead, Runnable beforeSwap) {
+        rebuildLock.lock();
+        try {
+            rebuildWhileLocked(beforeRead, beforeSwap);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildWhileLocked(Runnable beforeRead, Runnable beforeSwap) {
+        long startedAt = System.nanoTime();
+        Rebuild rebuild = new Rebuild();
+        setRebuilding(rebuild);
+        ForkJoinPool pool = new ForkJoinPool(properties.getRebuildParallelism());
+        try {
+            beforeRead.run();
+            long fromId = beerRepository.findMinId();
+            long toId = beerRepository.findMaxId() + 1;
+            Partial totals = pool.invoke(new RebuildTask(fromId, toId, rebuild));
+            AtomicLongArray types = new AtomicLongArray(totals.types);
+            Map<String, AtomicLongArray> brands = new ConcurrentHashMap<>();
+            totals.brands.forEach((brand, values) -> brands.put(brand, new AtomicLongArray(values)));
+            beforeSwap.run();
+            swapLock.writeLock().lock();
+            try {
+                rebuild.replay(change -> apply(types, brands, change.event()));
+                typeTotals = types;
+                brandTotals = brands;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        } finally {
+            pool.shutdown();
+            setRebuilding(null);
+        }
+        log.info("Inventory rollups rebuilt over {} brands in {} ms, {} changes replayed",
+                brandTotals.size(), (System.nanoTime() - startedAt) / 1_000_000, rebuild.replayed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        swapLock.readLock().lock();
+        try {
+            apply(typeTotals, brandTotals, event);
+            if (rebuilding != null) {
+                rebuilding.record(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public InventoryStatsDTO stats() {
+        AtomicLongArray types = typeTotals;
+        List<InventoryRollupDTO> byType = new ArrayList<>(TYPES.length);
+        long skus = 0;
+        long quantity = 0;
+        long capacity = 0;
+        for (BeerType type : TYPES) {
+            int base = type.ordinal() * FIELDS;
+            InventoryRollupDTO rollup = rollup(type.name(),
+                    types.get(base + SKUS), types.get(base + QUANTITY), types.get(base + CAPACITY));
+            byType.add(rollup);
+            skus += rollup.getSkus();
+            quantity += rollup.getQuantity();
+            capacity += rollup.getCapacity();
+        }
+        List<InventoryRollupDTO> byBrand = brandTotals.entrySet().stream()
+                .map(entry -> rollup(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(InventoryRollupDTO::getName))
+                .toList();
+        return InventoryStatsDTO.builder()
+                .total(rollup("total", skus, quantity, capacity))
+                .types(byType)
+                .brands(byBrand)
+                .build();
+    }
+
+    /**
+     * Compares the rollups with a full SQL aggregation. Changes still committing while it runs
+     * can show up as transient mismatches, and so can movements the counter-engine and ledger
+     * stock modes have not written to the table yet.
+     */
+    public List<InventoryMismatchDTO> check() {
+        InventoryStatsDTO stats = stats();
+        List<InventoryMismatchDTO> mismatches = new ArrayList<>();
+        compare("type", stats.getTypes(), beerRepository.totalsByType(), mismatches);
+        compare("brand", stats.getBrands(), beerRepository.totalsByBrand(), mismatches);
+        if (!mismatches.isEmpty()) {
+            log.warn("Inventory rollups differ from the database in {} groups", mismatches.size());
+        }
+        return mismatches;
+    }
+
+    private void setRebuilding(Rebuild rebuild) {
+        swapLock.writeLock().lock();
+        try {
+            rebuilding = rebuild;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(AtomicLongArray types, Map<String, AtomicLongArray> brands, BeerChangedEvent event) {
+        BeerDTO beer = event.beer();
+        switch (event.type()) {
+            case CREATED -> apply(types, brands, beer.getType(), beer.getBrand(), 1, event.quantityDelta(), beer.getMax());
+            case STOCK_CHANGED -> apply(types, brands, beer.getType(), beer.getBrand(), 0, event.quantityDelta(), 0);
+            case DELETED -> apply(types, brands, beer.getType(), beer.getBrand(), -1, event.quantityDelta(), -beer.getMax());
+        }
+    }
+
+    private static void apply(AtomicLongArray types, Map<String, AtomicLongArray> brands,
+                              BeerType type, String brand, long skus, long quantity, long capacity) {
+        int base = type.ordinal() * FIELDS;
+        types.addAndGet(base + SKUS, skus);
+        types.addAndGet(base + QUANTITY, quantity);
+        types.addAndGet(base + CAPACITY, capacity);
+        brands.compute(brand, (name, totals) -> {
+            AtomicLongArray updated = totals == null ? new AtomicLongArray(FIELDS) : totals;
+            updated.addAndGet(SKUS, skus);
+            updated.addAndGet(QUANTITY, quantity);
+            updated.addAndGet(CAPACITY, capacity);
+            return updated.get(SKUS) == 0 ? null : updated;
+        });
+    }
+
+    private static void compare(String dimension, List<InventoryRollupDTO> rollups, List<InventoryTotalsView> database,
+                                List<InventoryMismatchDTO> mismatches) {
+        Map<String, InventoryRollupDTO> expected = new HashMap<>();
+        database.forEach(totals -> expected.put(totals.getName(),
+                rollup(totals.getName(), totals.getSkus(), totals.getQuantity(), totals.getCapacity())));
+        Map<String, InventoryRollupDTO> actual = new HashMap<>();
+        rollups.stream().filter(rollup -> rollup.getSkus() != 0).forEach(rollup -> actual.put(rollup.getName(), rollup));
+        TreeSet<String> names = new TreeSet<>(expected.keySet());
+        names.addAll(actual.keySet());
+        for (String name : names) {
+            if (!Objects.equals(actual.get(name), expected.get(name))) {
+                mismatches.add(InventoryMismatchDTO.builder()
+                        .dimension(dimension)
+                        .name(name)
+                        .rollup(actual.get(name))
+                        .database(expected.get(name))
+                        .build());
+            }
+        }
+    }
+
+    private static InventoryRollupDTO rollup(String name, AtomicLongArray totals) {
+        return rollup(name, totals.get(SKUS), totals.get(QUANTITY), totals.get(CAPACITY));
+    }
+
+    private static InventoryRollupDTO rollup(String name, long skus, long quantity, long capacity) {
+        return InventoryRollupDTO.builder()
+                .name(name)
+                .skus(skus)
+                .quantity(quantity)
+                .capacity(capacity)
+                .fillRatio(capacity == 0 ? 0 : (double) quantity / capacity)
+                .build();
+    }
+
+    /**
+     * Totals of one id range, merged up the fork-join tree.
+     */
+    private static final class Partial {
+
+        private final long[] types = new long[TYPES.length * FIELDS];
+        private final Map<String, long[]> brands = new HashMap<>();
+
+        private void add(BeerType type, String brand, int quantity, int max) {
+            add(types, type.ordinal() * FIELDS, quantity, max);
+            add(brands.computeIfAbsent(brand, name -> new long[FIELDS]), 0, quantity, max);
+        }
+
+        private static void add(long[] totals, int base, int quantity, int max) {
+            totals[base + SKUS]++;
+            totals[base + QUANTITY] += quantity;
+            totals[base + CAPACITY] += max;
+        }
+
+        private Partial merge(Partial other) {
+            for (int i = 0; i < types.length; i++) {
+                types[i] += other.types[i];
+            }
+            other.brands.forEach((brand, totals) -> brands.merge(brand, totals, (mine, theirs) -> {
+                for (int i = 0; i < FIELDS; i++) {
+                    mine[i] += theirs[i];
+                }
+                return mine;
+            }));
+            return this;
+        }
+    }
+
+    /**
+     * Changes that arrived during a rebuild, numbered in arrival order, and the number reached when
+     * each chunk was read. A chunk's query sees what committed before it started, so a change
+     * numbered above its chunk's mark is not in the new totals, and neither is one for a beer
+     * outside every chunk, created after the id range was read. A change that committed just
+     * before its chunk's query but arrived just after it is counted twice; {@link #check()} finds
+     * such drift.
+     */
+    private static final class Rebuild {
+
+        private final AtomicLong arrivals = new AtomicLong();
+        private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+        // First id of each chunk to {end id, arrivals when its query started}.
+        private final NavigableMap<Long, long[]> reads = new ConcurrentSkipListMap<>();
+        private long replayed;
+
+        private void record(BeerChangedEvent event) {
+            changes.add(new Change(arrivals.incrementAndGet(), event));
+        }
+
+        private void reading(long fromId, long toId) {
+            reads.put(fromId, new long[]{toId, arrivals.get()});
+        }
+
+        // Called under the write lock, once no chunk is read any more.
+        private void replay(Consumer<Change> apply) {
+            for (Change change : changes) {
+                long id = change.event().beer().getId();
+                Map.Entry<Long, long[]> chunk = reads.floorEntry(id);
+                if (chunk == null || id >= chunk.getValue()[0] || change.arrival() > chunk.getValue()[1]) {
+                    apply.accept(change);
+                    replayed++;
+                }
+            }
+        }
+    }
+
+    private record Change(long arrival, BeerChangedEvent event) {
+    }
+
+    private final class RebuildTask extends RecursiveTask<Partial> {
+
+        private final long fromId;
+        private final long toId;
+        private final Rebuild rebuild;
+
+        private RebuildTask(long fromId, long toId, Rebuild rebuild) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.rebuild = rebuild;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (toId - fromId <= properties.getRebuildChunkSize()) {
+                Partial partial = new Partial();
+                rebuild.reading(fromId, toId);
+                for (BeerLevelView beer : beerRepository.findLevelsInRange(fromId, toId)) {
+                    BeerDTO level = stockStore.overlay(BeerDTO.builder().id(beer.getId()).quantity(beer.getQuantity()).build());
+                    partial.add(beer.getType(), beer.getBrand(), level.getQuantity(), beer.getMax());
+                }
+                return partial;
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            RebuildTask left = new RebuildTask(fromId, middle, rebuild);
+            left.fork();
+            Partial right = new RebuildTask(middle, toId, rebuild).compute();
+            return right.merge(left.join());
+        }
+    }
+}
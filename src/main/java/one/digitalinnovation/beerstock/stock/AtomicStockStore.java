@@ -0,0 +1,109 @@
+package one.digitalinnovation.beerstock.stock;
+
+import lombok.AllArgsConstructor;
+import one.digitalinnovation.beerstock.change.BeerChangeClock;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.StockMovementStatus;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+@Component
+@ConditionalOnProperty(prefix = "beerstock.stock", name = "mode", havingValue = "atomic", matchIfMissing = true)
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class AtomicStockStore implements StockStore {
+
+    private final BeerRepository beerRepository;
+    private final StockProperties stockProperties;
+    private final BeerChangeClock beerChangeClock;
+
+    @Override
+    @Transactional
+    public Beer adjust(Long id, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        if (beerRepository.adjustQuantity(id, delta, beerChangeClock.next()) == 0) {
+            if (!beerRepository.existsById(id)) {
+                throw new BeerNotFoundException(id);
+            }
+            throw new BeerStockExceededException(id, Math.abs(delta));
+        }
+        return beerRepository.findById(id)
+                .orElseThrow(() -> new BeerNotFoundException(id));
+    }
+
+    /**
+     * Applies the deltas of one beer in order under a single row lock, checking each against the
+     * quantity left by the previous ones. {@code quantities[i]} receives the quantity after
+     * {@code deltas[i]}, or -1 when that delta was rejected.
+     *
+     * @return the beer with its final quantity
+     */
+    @Transactional
+    public Beer adjustInOrder(Long id, int[] deltas, int[] quantities) throws BeerNotFoundException {
+        Beer beer = beerRepository.findLockedById(id)
+                .orElseThrow(() -> new BeerNotFoundException(id));
+        int quantity = beer.getQuantity();
+        for (int i = 0; i < deltas.length; i++) {
+            int next = quantity + deltas[i];
+            if (next < 0 || next > beer.getMax()) {
+                quantities[i] = -1;
+            } else {
+                quantity = next;
+                quantities[i] = quantity;
+            }
+        }
+        beer.setQuantity(quantity);
+        return beer;
+    }
+
+    /**
+     * Locks the affected rows in id order and lets Hibernate flush the changed quantities
+     * as ordered JDBC batches when the transaction commits.
+     */
+    @Override
+    @Transactional
+    public List<StockMovementResultDTO> applyAll(Map<Long, Integer> deltasById, BiConsumer<Beer, Integer> onApplied) {
+        Map<Long, Beer> beersById = new HashMap<>(deltasById.size());
+        List<Long> ids = new ArrayList<>(deltasById.keySet());
+        // Sorted across chunks too, or two batches with interleaved ids could lock in opposite orders.
+        Collections.sort(ids);
+        int chunkSize = stockProperties.getBulkChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            beerRepository.findByIdInOrderByIdAsc(chunk).forEach(beer -> beersById.put(beer.getId(), beer));
+        }
+
+        List<StockMovementResultDTO> results = new ArrayList<>(deltasById.size());
+        deltasById.forEach((id, delta) -> {
+            StockMovementResultDTO result = StockMovementResultDTO.builder().id(id).delta(delta).build();
+            Beer beer = beersById.get(id);
+            if (beer == null) {
+                result.setStatus(StockMovementStatus.NOT_FOUND);
+            } else {
+                int quantity = beer.getQuantity() + delta;
+                if (quantity < 0 || quantity > beer.getMax()) {
+                    result.setStatus(StockMovementStatus.EXCEEDED);
+                } else {
+                    beer.setQuantity(quantity);
+                    result.setQuantity(quantity);
+                    result.setStatus(StockMovementStatus.APPLIED);
+                    onApplied.accept(beer, delta);
+                }
+            }
+            results.add(result);
+        });
+        return results;
+    }
+}
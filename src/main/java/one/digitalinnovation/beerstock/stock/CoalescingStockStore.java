@@ -0,0 +1,232 @@
+package one.digitalinnovation.beerstock.stock;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * Sits in front of {@link AtomicStockStore} and merges concurrent adjustments of the same beer
+ * into one row-locked transaction. The first caller of a batch leads it: when the beer is idle it
+ * runs at once, otherwise it waits for the previous batch of that beer and for {@code window}
+ * while others join, up to {@code max-batch-size}. Deltas are applied in arrival order and every
+ * caller gets its own quantity or {@link BeerStockExceededException}.
+ */
+@Primary
+@Component
+@ConditionalOnExpression("${beerstock.stock.coalescing.enabled:false} and '${beerstock.stock.mode:atomic}' == 'atomic'")
+public class CoalescingStockStore implements StockStore {
+
+    private final AtomicStockStore atomicStockStore;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public CoalescingStockStore(AtomicStockStore atomicStockStore, StockProperties stockProperties, MeterRegistry meterRegistry) {
+        this.atomicStockStore = atomicStockStore;
+        this.windowNanos = stockProperties.getCoalescing().getWindow().toNanos();
+        this.maxBatchSize = stockProperties.getCoalescing().getMaxBatchSize();
+        this.batchSize = DistributionSummary.builder("beerstock.stock.coalescing.batch.size")
+                .description("Adjustments applied together in one transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("beerstock.stock.coalescing.lanes", lanes, Map::size)
+                .description("Beers with a batch of adjustments pending or running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Beer adjust(Long id, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        Request request = new Request(delta);
+        Lane lane = null;
+        Batch batch = null;
+        boolean leader = false;
+        while (batch == null) {
+            lane = lanes.computeIfAbsent(id, key -> new Lane());
+            synchronized (lane) {
+                if (lane.retired) {
+                    continue;
+                }
+                batch = lane.open;
+                leader = batch == null;
+                if (leader) {
+                    batch = new Batch(lane.last);
+                    lane.open = batch;
+                    lane.last = batch;
+                }
+                batch.requests.add(request);
+                if (batch.requests.size() >= maxBatchSize) {
+                    lane.open = null;
+                    LockSupport.unpark(batch.leader);
+                }
+            }
+        }
+        if (leader) {
+            lead(id, lane, batch);
+        }
+        return await(request);
+    }
+
+    @Override
+    public List<StockMovementResultDTO> applyAll(Map<Long, Integer> deltasById, BiConsumer<Beer, Integer> onApplied) {
+        return atomicStockStore.applyAll(deltasById, onApplied);
+    }
+
+    @Override
+    public void register(Beer beer) {
+        atomicStockStore.register(beer);
+    }
+
+    @Override
+    public void unregister(Long id) {
+        atomicStockStore.unregister(id);
+        Lane lane = lanes.remove(id);
+        if (lane != null) {
+            synchronized (lane) {
+                lane.retired = true;
+            }
+        }
+    }
+
+    @Override
+    public BeerDTO overlay(BeerDTO beerDTO) {
+        return atomicStockStore.overlay(beerDTO);
+    }
+
+    private void lead(Long id, Lane lane, Batch batch) {
+        Batch previous = batch.previous;
+        batch.previous = null;
+        if (previous != null && !previous.done.isDone()) {
+            // The beer is busy: gather until its previous batch commits and the window has passed.
+            previous.done.join();
+            long deadline = batch.openedAt + windowNanos;
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0 && isOpen(lane, batch)) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+        synchronized (lane) {
+            if (lane.open == batch) {
+                lane.open = null;
+            }
+        }
+        try {
+            execute(id, batch.requests);
+        } finally {
+            batch.done.complete(null);
+            retireIfIdle(id, lane, batch);
+        }
+    }
+
+    /**
+     * Drops the lane once its last batch is done, so ids that were adjusted once, or never
+     * existed, do not keep a lane for good. A caller that still reaches a retired lane starts a
+     * new one.
+     */
+    private void retireIfIdle(Long id, Lane lane, Batch batch) {
+        synchronized (lane) {
+            if (lane.last == batch && lane.open == null) {
+                lane.retired = true;
+                lanes.remove(id, lane);
+            }
+        }
+    }
+
+    private void execute(Long id, List<Request> requests) {
+        int[] deltas = new int[requests.size()];
+        int[] quantities = new int[requests.size()];
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = requests.get(i).delta;
+        }
+        batchSize.record(deltas.length);
+        try {
+            Beer beer = atomicStockStore.adjustInOrder(id, deltas, quantities);
+            for (int i = 0; i < deltas.length; i++) {
+                Request request = requests.get(i);
+                if (quantities[i] < 0) {
+                    request.result.completeExceptionally(new BeerStockExceededException(id, Math.abs(request.delta)));
+                } else {
+                    request.result.complete(new Beer(beer.getId(), beer.getName(), beer.getBrand(), beer.getMax(),
+                            quantities[i], beer.getType(), beer.getChangeVersion(), beer.getVersion()));
+                }
+            }
+        } catch (BeerNotFoundException | RuntimeException e) {
+            requests.forEach(request -> request.result.completeExceptionally(e));
+        }
+    }
+
+    private static boolean isOpen(Lane lane, Batch batch) {
+        synchronized (lane) {
+            return lane.open == batch;
+        }
+    }
+
+    private static Beer await(Request request) throws BeerNotFoundException, BeerStockExceededException {
+        try {
+            return request.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BeerNotFoundException notFound) {
+                throw notFound;
+            }
+            if (e.getCause() instanceof BeerStockExceededException exceeded) {
+                throw exceeded;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Per-beer state: the batch still accepting requests and the latest batch created, which the
+     * next one waits for so batches of a beer commit in order. Guarded by the lane's monitor.
+     */
+    private static final class Lane {
+
+        private Batch open;
+        private Batch last;
+        private boolean retired;
+    }
+
+    private static final class Batch {
+
+        private final List<Request> requests = new ArrayList<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private final Thread leader = Thread.currentThread();
+        private final long openedAt = System.nanoTime();
+        private Batch previous;
+
+        private Batch(Batch previous) {
+            this.previous = previous;
+        }
+    }
+
+    private static final class Request {
+
+        private final int delta;
+        private final CompletableFuture<Beer> result = new CompletableFuture<>();
+
+        private Request(int delta) {
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package one.digitalinnovation.beerstock.stock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.change.BeerChangeClock;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps stock quantities in {@link StockCounters} so increments and decrements never
+ * wait on the database. With {@code SYNC} durability every adjustment is written through
+ * in the caller's thread; with {@code WRITE_BEHIND} dirty beers are coalesced and flushed
+ * in batches on an interval or once the dirty threshold is reached. {@code WAL} flushes the
+ * same way but first logs every change to a {@link StockWal}, which is replayed into the
+ * repository on startup, so stock survives restarts even on an in-memory database.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "beerstock.stock", name = "mode", havingValue = "counter-engine")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class CounterEngineStockStore implements StockStore {
+
+    // Matches the allocationSize of Beer's id sequence.
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private final BeerRepository beerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockProperties stockProperties;
+    private final EntityManager entityManager;
+    private final BeerChangeClock beerChangeClock;
+
+    private final StockCounters counters = new StockCounters();
+    private final Map<Long, Beer> catalog = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger dirtyCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile StockWal wal;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (stockProperties.getCounterEngine().getDurability() == StockProperties.Durability.WAL) {
+            wal = new StockWal(stockProperties.getWal(), this::snapshot);
+            replay(wal.replay());
+        }
+        reload();
+        if (wal != null) {
+            wal.checkpoint();
+        }
+        if (isWriteBehind()) {
+            long interval = stockProperties.getCounterEngine().getFlushInterval().toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+        if (wal != null) {
+            wal.checkpoint();
+            wal.close();
+        }
+        log.info("Counter engine drained, {} beers pending", dirtyCount.get());
+    }
+
+    public void reload() {
+        counters.clear();
+        catalog.clear();
+        beerRepository.findAll().forEach(this::track);
+        log.info("Counter engine loaded {} beers", catalog.size());
+    }
+
+    @Override
+    public Beer adjust(Long id, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        Beer beer = catalog.get(id);
+        if (beer == null) {
+            throw new BeerNotFoundException(id);
+        }
+        StockWal current = wal;
+        int quantity = current == null
+                ? counters.adjust(id, delta)
+                : current.adjust(id, delta, () -> counters.adjust(id, delta));
+        if (isWriteBehind()) {
+            markDirty(id);
+            beerChangeClock.touch();
+        } else {
+            writeThrough(id, delta);
+        }
+        return copyOf(beer, quantity);
+    }
+
+    @Override
+    public void register(Beer beer) {
+        StockWal current = wal;
+        if (current == null) {
+            track(beer);
+        } else {
+            current.create(beer, () -> track(beer));
+        }
+    }
+
+    @Override
+    public void unregister(Long id) {
+        StockWal current = wal;
+        if (current == null) {
+            untrack(id);
+        } else {
+            current.delete(id, () -> untrack(id));
+        }
+    }
+
+    @Override
+    public BeerDTO overlay(BeerDTO beerDTO) {
+        beerDTO.setQuantity(counters.getOrDefault(beerDTO.getId(), beerDTO.getQuantity()));
+        return beerDTO;
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            int batchSize = stockProperties.getCounterEngine().getFlushBatchSize();
+            List<Long> batch = new ArrayList<>(batchSize);
+            for (Long id : dirty) {
+                if (dirty.remove(id)) {
+                    dirtyCount.decrementAndGet();
+                    batch.add(id);
+                }
+                if (batch.size() == batchSize) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void track(Beer beer) {
+        catalog.put(beer.getId(), copyOf(beer, beer.getQuantity()));
+        counters.register(beer.getId(), beer.getQuantity(), beer.getMax());
+    }
+
+    private void untrack(Long id) {
+        counters.unregister(id);
+        catalog.remove(id);
+        if (dirty.remove(id)) {
+            dirtyCount.decrementAndGet();
+        }
+    }
+
+    private Collection<Beer> snapshot() {
+        List<Beer> beers = new ArrayList<>(catalog.size());
+        catalog.values().forEach(beer -> beers.add(copyOf(beer, counters.getOrDefault(beer.getId(), beer.getQuantity()))));
+        return beers;
+    }
+
+    /**
+     * Brings the repository in line with the log: beers missing after a restart are inserted
+     * with their original ids, and the id sequence moves past them.
+     */
+    private void replay(StockWal.Replay replay) {
+        if (replay.records() == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Beer> existing = new HashMap<>();
+            beerRepository.findAllById(replay.beers().keySet()).forEach(beer -> existing.put(beer.getId(), beer));
+            int inserted = 0;
+            for (Beer beer : replay.beers().values()) {
+                Beer stored = existing.get(beer.getId());
+                if (stored != null) {
+                    stored.setQuantity(beer.getQuantity());
+                } else {
+                    beerRepository.insertWithId(beer.getId(), beer.getName(), beer.getBrand(),
+                            beer.getMax(), beer.getQuantity(), beer.getType().name(), beerChangeClock.next());
+                    inserted++;
+                }
+            }
+            beerRepository.deleteAllById(replay.deleted());
+            if (inserted > 0) {
+                // Deleted ids count too, so a new beer never takes the id of one that was removed.
+                long maxId = Math.max(beerRepository.findMaxId(),
+                        replay.deleted().stream().mapToLong(Long::longValue).max().orElse(0));
+                // DDL takes no bind parameters, and Spring Data's native query parser rejects it anyway.
+                entityManager.createNativeQuery("alter sequence beer_seq restart with " + (maxId + ID_ALLOCATION_SIZE))
+                        .executeUpdate();
+            }
+            log.info("Replayed {} stock WAL records: {} beers inserted, {} updated, {} deleted",
+                    replay.records(), inserted, existing.size(), replay.deleted().size());
+        });
+    }
+
+    private void flushQuietly() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Counter engine flush failed, pending beers will be retried", e);
+        }
+    }
+
+    private void write(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Beer> beers = beerRepository.findAllById(ids);
+                beers.forEach(beer -> beer.setQuantity(counters.getOrDefault(beer.getId(), beer.getQuantity())));
+                beerRepository.saveAll(beers);
+            });
+        } catch (RuntimeException e) {
+            ids.forEach(this::markDirty);
+            throw e;
+        }
+    }
+
+    /**
+     * The counter already holds {@code delta} when the write runs. If the database rejects or
+     * fails the write, only that delta is taken back out, so adjustments that other callers
+     * applied in the meantime are kept.
+     */
+    private void writeThrough(Long id, int delta) throws BeerStockExceededException {
+        Integer updated;
+        try {
+            updated = transactionTemplate.execute(status -> beerRepository.adjustQuantity(id, delta, beerChangeClock.next()));
+        } catch (RuntimeException e) {
+            counters.compensate(id, -delta);
+            throw e;
+        }
+        if (updated == null || updated == 0) {
+            counters.compensate(id, -delta);
+            throw new BeerStockExceededException(id, Math.abs(delta));
+        }
+    }
+
+    private void markDirty(Long id) {
+        if (dirty.add(id)
+                && dirtyCount.incrementAndGet() >= stockProperties.getCounterEngine().getDirtyThreshold()
+                && !flusher.isShutdown()
+                && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    private boolean isWriteBehind() {
+        return stockProperties.getCounterEngine().getDurability() != StockProperties.Durability.SYNC;
+    }
+
+    private static Beer copyOf(Beer beer, int quantity) {
+        return new Beer(beer.getId(), beer.getName(), beer.getBrand(), beer.getMax(), quantity, beer.getType(),
+                beer.getChangeVersion(), beer.getVersion());
+    }
+}
@@ -0,0 +1,333 @@
+package one.digitalinnovation.beerstock.stock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.change.BeerChangeClock;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.entity.StockSnapshot;
+import one.digitalinnovation.beerstock.enums.StockMovementStatus;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.repository.BeerDeltaView;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockMovementRepository;
+import one.digitalinnovation.beerstock.repository.StockSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Records every adjustment as an append-only {@link StockMovement} instead of updating the beer
+ * row. A single appender thread sequences all adjustments: it validates each one against the
+ * in-memory quantities, then inserts whatever accumulated while the previous batch was committing
+ * in one transaction (group commit). Callers wait until their movement is durable. A periodic
+ * snapshot folds committed movements into {@link Beer#getQuantity()} and advances the
+ * {@link StockSnapshot} watermark.
+ * <p>
+ * Because only the appender inserts movements, ids grow in commit order and the watermark never
+ * skips a movement that commits later.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "beerstock.stock", name = "mode", havingValue = "ledger")
+@AllArgsConstructor(onConstructor = @__(@Autowired))
+public class LedgerStockStore implements StockStore {
+
+    private final BeerRepository beerRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockProperties stockProperties;
+    private final BeerChangeClock beerChangeClock;
+
+    private final StockCounters counters = new StockCounters();
+    private final Map<Long, Beer> catalog = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingMovement> pending = new LinkedBlockingQueue<>();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final Thread appender = new Thread(this::appendLoop, "stock-ledger-appender");
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-ledger-snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    public void start() {
+        reload();
+        running.set(true);
+        appender.setDaemon(true);
+        appender.start();
+        long interval = stockProperties.getLedger().getSnapshotInterval().toMillis();
+        snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running.set(false);
+        appender.join(TimeUnit.SECONDS.toMillis(30));
+        snapshotter.shutdown();
+        snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+        snapshot();
+        log.info("Stock ledger stopped, watermark at movement {}", watermark());
+    }
+
+    public void reload() {
+        counters.clear();
+        catalog.clear();
+        Map<Long, Long> unfolded = new HashMap<>();
+        for (BeerDeltaView delta : stockMovementRepository.sumDeltasAfter(watermark())) {
+            unfolded.put(delta.getBeerId(), delta.getDelta());
+        }
+        beerRepository.findAll().forEach(beer ->
+                register(copyOf(beer, beer.getQuantity() + unfolded.getOrDefault(beer.getId(), 0L).intValue())));
+        log.info("Stock ledger loaded {} beers, {} with movements after the last snapshot", catalog.size(), unfolded.size());
+    }
+
+    @Override
+    public Beer adjust(Long id, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        if (!catalog.containsKey(id)) {
+            throw new BeerNotFoundException(id);
+        }
+        return await(submit(id, delta));
+    }
+
+    @Override
+    public List<StockMovementResultDTO> applyAll(Map<Long, Integer> deltasById, BiConsumer<Beer, Integer> onApplied) {
+        Map<Long, PendingMovement> submitted = new LinkedHashMap<>();
+        deltasById.forEach((id, delta) -> {
+            if (catalog.containsKey(id)) {
+                submitted.put(id, submit(id, delta));
+            }
+        });
+        List<StockMovementResultDTO> results = new ArrayList<>(deltasById.size());
+        deltasById.forEach((id, delta) -> {
+            StockMovementResultDTO result = StockMovementResultDTO.builder().id(id).delta(delta).build();
+            try {
+                PendingMovement movement = submitted.get(id);
+                if (movement == null) {
+                    throw new BeerNotFoundException(id);
+                }
+                Beer beer = await(movement);
+                result.setQuantity(beer.getQuantity());
+                result.setStatus(StockMovementStatus.APPLIED);
+                onApplied.accept(beer, delta);
+            } catch (BeerNotFoundException e) {
+                result.setStatus(StockMovementStatus.NOT_FOUND);
+            } catch (BeerStockExceededException e) {
+                result.setStatus(StockMovementStatus.EXCEEDED);
+            }
+            results.add(result);
+        });
+        return results;
+    }
+
+    @Override
+    public int quantityAt(Long id, Instant at) throws BeerNotFoundException {
+        Optional<StockMovement> before = stockMovementRepository.findFirstByBeerIdAndOccurredAtLessThanEqualOrderByIdDesc(id, at);
+        if (before.isPresent()) {
+            return before.get().getQuantityAfter();
+        }
+        Optional<StockMovement> after = stockMovementRepository.findFirstByBeerIdAndOccurredAtAfterOrderByIdAsc(id, at);
+        if (after.isPresent()) {
+            return after.get().getQuantityAfter() - after.get().getDelta();
+        }
+        Beer beer = catalog.get(id);
+        if (beer == null) {
+            throw new BeerNotFoundException(id);
+        }
+        return counters.getOrDefault(id, beer.getQuantity());
+    }
+
+    @Override
+    public void register(Beer beer) {
+        catalog.put(beer.getId(), copyOf(beer, beer.getQuantity()));
+        counters.register(beer.getId(), beer.getQuantity(), beer.getMax());
+    }
+
+    @Override
+    public void unregister(Long id) {
+        counters.unregister(id);
+        catalog.remove(id);
+    }
+
+    @Override
+    public BeerDTO overlay(BeerDTO beerDTO) {
+        beerDTO.setQuantity(counters.getOrDefault(beerDTO.getId(), beerDTO.getQuantity()));
+        return beerDTO;
+    }
+
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                StockSnapshot snapshot = stockSnapshotRepository.findById(StockSnapshot.ID)
+                        .orElseGet(() -> new StockSnapshot(StockSnapshot.ID, 0, Instant.EPOCH));
+                long lastMovementId = stockMovementRepository.findLastId();
+                if (lastMovementId > snapshot.getLastMovementId()) {
+                    int folded = beerRepository.foldMovements(snapshot.getLastMovementId(), lastMovementId,
+                            beerChangeClock.next());
+                    snapshot.setLastMovementId(lastMovementId);
+                    snapshot.setTakenAt(Instant.now());
+                    stockSnapshotRepository.save(snapshot);
+                    log.debug("Folded movements up to {} into {} beers", lastMovementId, folded);
+                }
+            });
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private long watermark() {
+        return stockSnapshotRepository.findById(StockSnapshot.ID).map(StockSnapshot::getLastMovementId).orElse(0L);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("Stock ledger snapshot failed, movements stay unfolded until the next one", e);
+        }
+    }
+
+    private PendingMovement submit(Long id, int delta) {
+        if (!running.get()) {
+            throw new IllegalStateException("Stock ledger is not accepting movements");
+        }
+        PendingMovement movement = new PendingMovement(id, delta);
+        pending.add(movement);
+        return movement;
+    }
+
+    private static Beer await(PendingMovement movement) throws BeerNotFoundException, BeerStockExceededException {
+        try {
+            return movement.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof BeerNotFoundException notFound) {
+                throw notFound;
+            }
+            if (e.getCause() instanceof BeerStockExceededException exceeded) {
+                throw exceeded;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private void appendLoop() {
+        int batchSize = stockProperties.getLedger().getBatchSize();
+        List<PendingMovement> batch = new ArrayList<>(batchSize);
+        while (running.get() || !pending.isEmpty()) {
+            try {
+                PendingMovement first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                append(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Stock ledger append failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+        pending.forEach(movement -> movement.result.completeExceptionally(
+                new IllegalStateException("Stock ledger stopped before the movement was recorded")));
+    }
+
+    private void append(List<PendingMovement> batch) {
+        Instant now = Instant.now();
+        List<PendingMovement> accepted = new ArrayList<>(batch.size());
+        List<StockMovement> rows = new ArrayList<>(batch.size());
+        for (PendingMovement movement : batch) {
+            try {
+                int quantity = counters.adjust(movement.beerId, movement.delta);
+                accepted.add(movement);
+                rows.add(new StockMovement(null, movement.beerId, movement.delta, quantity, now));
+            } catch (BeerNotFoundException | BeerStockExceededException e) {
+                movement.result.completeExceptionally(e);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> stockMovementRepository.saveAll(rows));
+        } catch (RuntimeException e) {
+            // Undo in reverse order; nothing else adjusts the counters, so each step is within bounds.
+            for (int i = accepted.size() - 1; i >= 0; i--) {
+                revert(accepted.get(i));
+            }
+            accepted.forEach(movement -> movement.result.completeExceptionally(e));
+            throw e;
+        }
+        // Beer rows only change when a snapshot folds the movements in.
+        beerChangeClock.touch();
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingMovement movement = accepted.get(i);
+            Beer beer = catalog.get(movement.beerId);
+            if (beer == null) {
+                movement.result.completeExceptionally(new BeerNotFoundException(movement.beerId));
+            } else {
+                movement.result.complete(copyOf(beer, rows.get(i).getQuantityAfter()));
+            }
+        }
+    }
+
+    private void revert(PendingMovement movement) {
+        try {
+            counters.adjust(movement.beerId, -movement.delta);
+        } catch (BeerNotFoundException | BeerStockExceededException e) {
+            log.warn("Could not revert movement of beer {} by {}", movement.beerId, movement.delta, e);
+        }
+    }
+
+    private static Beer copyOf(Beer beer, int quantity) {
+        return new Beer(beer.getId(), beer.getName(), beer.getBrand(), beer.getMax(), quantity, beer.getType(),
+                beer.getChangeVersion(), beer.getVersion());
+    }
+
+    private static final class PendingMovement {
+
+        private final Long beerId;
+        private final int delta;
+        private final CompletableFuture<Beer> result = new CompletableFuture<>();
+
+        private PendingMovement(Long beerId, int delta) {
+            this.beerId = beerId;
+            this.delta = delta;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package one.digitalinnovation.beerstock.stock;
+
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock-free stock counters kept in primitive {@code int} slots indexed by beer id.
+ * Slots are grouped in fixed-size stripes allocated on demand, so sparse ids only
+ * pay for the stripes they touch. Adjustments are a CAS loop bounded by the max
+ * stock registered for the slot.
+ */
+public class StockCounters {
+
+    private static final int STRIPE_BITS = 10;
+    private static final int STRIPE_SIZE = 1 << STRIPE_BITS;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    private final ReentrantLock growLock = new ReentrantLock();
+    private volatile Stripe[] stripes = new Stripe[0];
+
+    public void register(long id, int quantity, int max) {
+        Stripe stripe = stripeForWrite(id);
+        int slot = slot(id);
+        stripe.max.set(slot, max);
+        stripe.quantity.set(slot, quantity);
+    }
+
+    public void unregister(long id) {
+        Stripe stripe = stripe(id);
+        if (stripe != null) {
+            stripe.quantity.set(slot(id), ABSENT);
+        }
+    }
+
+    public int getOrDefault(long id, int defaultQuantity) {
+        Stripe stripe = stripe(id);
+        int quantity = stripe == null ? ABSENT : stripe.quantity.get(slot(id));
+        return quantity == ABSENT ? defaultQuantity : quantity;
+    }
+
+    public int adjust(long id, int delta) throws BeerNotFoundException, BeerStockExceededException {
+        Stripe stripe = stripe(id);
+        if (stripe == null) {
+            throw new BeerNotFoundException(id);
+        }
+        int slot = slot(id);
+        int max = stripe.max.get(slot);
+        while (true) {
+            int current = stripe.quantity.get(slot);
+            if (current == ABSENT) {
+                throw new BeerNotFoundException(id);
+            }
+            int next = current + delta;
+            if (next < 0 || next > max) {
+                throw new BeerStockExceededException(id, Math.abs(delta));
+            }
+            if (stripe.quantity.compareAndSet(slot, current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Applies {@code delta} without the bounds check, to undo an adjustment whose write failed.
+     * Concurrent adjustments may have moved the quantity since, so it is never simply restored.
+     */
+    public void compensate(long id, int delta) {
+        Stripe stripe = stripe(id);
+        if (stripe == null) {
+            return;
+        }
+        int slot = slot(id);
+        while (true) {
+            int current = stripe.quantity.get(slot);
+            if (current == ABSENT || stripe.quantity.compareAndSet(slot, current, current + delta)) {
+                return;
+            }
+        }
+    }
+
+    public void clear() {
+        growLock.lock();
+        try {
+            stripes = new Stripe[0];
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private Stripe stripe(long id) {
+        Stripe[] current = stripes;
+        int index = stripeIndex(id);
+        return index < current.length ? current[index] : null;
+    }
+
+    private Stripe stripeForWrite(long id) {
+        Stripe stripe = stripe(id);
+        if (stripe != null) {
+            return stripe;
+        }
+        growLock.lock();
+        try {
+            int index = stripeIndex(id);
+            Stripe[] current = stripes;
+            if (index < current.length && current[index] != null) {
+                return current[index];
+            }
+            Stripe[] grown = Arrays.copyOf(current, Math.max(index + 1, current.length));
+            grown[index] = new Stripe();
+            stripes = grown;
+            return grown[index];
+        } finally {
+            growLock.unlock();
+        }
+    }
+
+    private static int stripeIndex(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Beer id must not be negative: " + id);
+        }
+        return Math.toIntExact(id >>> STRIPE_BITS);
+    }
+
+    private static int slot(long id) {
+        return (int) (id & STRIPE_MASK);
+    }
+
+    private static final class Stripe {
+
+        private final AtomicIntegerArray quantity = new AtomicIntegerArray(STRIPE_SIZE);
+        private final AtomicIntegerArray max = new AtomicIntegerArray(STRIPE_SIZE);
+
+        private Stripe() {
+            for (int i = 0; i < STRIPE_SIZE; i++) {
+                quantity.set(i, ABSENT);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package one.digitalinnovation.beerstock.stock;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.enums.StockMovementStatus;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.StockHistoryUnavailableException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Owns the authoritative stock quantity of each beer. Implementations are selected
+ * through {@code beerstock.stock.mode}.
+ */
+public interface StockStore {
+
+    /**
+     * Applies {@code delta} to the beer quantity, keeping it between 0 and {@code max}.
+     *
+     * @return the beer with its quantity after the adjustment
+     */
+    Beer adjust(Long id, int delta) throws BeerNotFoundException, BeerStockExceededException;
+
+    /**
+     * Applies one net delta per beer, reporting the outcome of each one instead of
+     * failing the whole batch. {@code onApplied} receives every adjusted beer and its delta.
+     */
+    default List<StockMovementResultDTO> applyAll(Map<Long, Integer> deltasById, BiConsumer<Beer, Integer> onApplied) {
+        List<StockMovementResultDTO> results = new ArrayList<>(deltasById.size());
+        deltasById.forEach((id, delta) -> {
+            StockMovementResultDTO result = StockMovementResultDTO.builder().id(id).delta(delta).build();
+            try {
+                Beer beer = adjust(id, delta);
+                result.setQuantity(beer.getQuantity());
+                result.setStatus(StockMovementStatus.APPLIED);
+                onApplied.accept(beer, delta);
+            } catch (BeerNotFoundException e) {
+                result.setStatus(StockMovementStatus.NOT_FOUND);
+            } catch (BeerStockExceededException e) {
+                result.setStatus(StockMovementStatus.EXCEEDED);
+            }
+            results.add(result);
+        });
+        return results;
+    }
+
+    default void register(Beer beer) {
+    }
+
+    default void unregister(Long id) {
+    }
+
+    /**
+     * Replaces the quantity read from the database with the one held by the store,
+     * for stores that do not write through on every adjustment.
+     */
+    default BeerDTO overlay(BeerDTO beerDTO) {
+        return beerDTO;
+    }
+
+    /**
+     * Returns the quantity the beer had at {@code at}, for stores that keep a movement history.
+     */
+    default int quantityAt(Long id, Instant at) throws BeerNotFoundException, StockHistoryUnavailableException {
+        throw new StockHistoryUnavailableException();
+    }
+}
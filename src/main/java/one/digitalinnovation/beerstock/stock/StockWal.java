@@ -0,0 +1,396 @@
+package one.digitalinnovation.beerstock.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped write-ahead log of stock changes. Records are appended to the current segment
+ * file at offsets reserved with a CAS, so concurrent adjustments never wait for each other;
+ * creations and deletions take the exclusive lock. When a segment fills up, a checkpoint writes
+ * the full state returned by {@code snapshot} into a new segment and deletes the older ones.
+ * <p>
+ * Every record starts at a {@value #SLOT}-byte boundary with a 16-byte header (type, payload
+ * length, CRC32C of the payload) and the type byte is written last. A slot that was reserved but
+ * never completed reads as zeros and is skipped on replay, so a crash only loses the adjustments
+ * that had not returned yet.
+ */
+@Slf4j
+public class StockWal implements Closeable {
+
+    private static final int SLOT = 32;
+    private static final int HEADER = 16;
+    private static final int DELTA_SIZE = SLOT;
+    private static final byte CREATE = 1;
+    private static final byte DELTA = 2;
+    private static final byte DELETE = 3;
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final StockProperties.FsyncPolicy fsync;
+    private final Supplier<Collection<Beer>> snapshot;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService syncer;
+    private volatile Segment current;
+    private long nextSequence = 1;
+
+    public StockWal(StockProperties.Wal properties, Supplier<Collection<Beer>> snapshot) {
+        this.directory = Path.of(properties.getDirectory());
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        this.fsync = properties.getFsync();
+        this.snapshot = snapshot;
+        if (fsync == StockProperties.FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "stock-wal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = properties.getFsyncInterval().toMillis();
+            syncer.scheduleWithFixedDelay(this::force, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Reads every segment in order and returns the state they describe. Call once, before the
+     * first {@link #checkpoint()}.
+     */
+    public Replay replay() throws IOException {
+        Files.createDirectories(directory);
+        Map<Long, Beer> beers = new LinkedHashMap<>();
+        Set<Long> deleted = new HashSet<>();
+        int records = 0;
+        int skipped = 0;
+        for (Path path : segments()) {
+            nextSequence = Math.max(nextSequence, sequenceOf(path) + 1);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int position = 0;
+                while (position + SLOT <= buffer.limit()) {
+                    byte type = buffer.get(position);
+                    if (type == 0) {
+                        position += SLOT;
+                        continue;
+                    }
+                    int length = buffer.getInt(position + 4);
+                    if (length < 0 || position + HEADER + length > buffer.limit()
+                            || crc(buffer, position, length) != buffer.getInt(position + 8)) {
+                        skipped++;
+                        position += SLOT;
+                        continue;
+                    }
+                    ByteBuffer payload = buffer.slice(position + HEADER, length);
+                    switch (type) {
+                        case CREATE -> {
+                            Beer beer = decodeCreate(payload);
+                            beers.put(beer.getId(), beer);
+                            deleted.remove(beer.getId());
+                        }
+                        case DELTA -> {
+                            Beer beer = beers.get(payload.getLong(0));
+                            if (beer != null) {
+                                beer.setQuantity(beer.getQuantity() + payload.getInt(8));
+                            }
+                        }
+                        case DELETE -> {
+                            beers.remove(payload.getLong(0));
+                            deleted.add(payload.getLong(0));
+                        }
+                        default -> skipped++;
+                    }
+                    records++;
+                    position += align(HEADER + length);
+                }
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Stock WAL replay skipped {} incomplete or corrupt records", skipped);
+        }
+        return new Replay(beers, deleted, records);
+    }
+
+    /**
+     * Applies {@code adjustment} and logs its delta; a checkpoint never runs in between.
+     */
+    public int adjust(long id, int delta, Adjustment adjustment) throws BeerNotFoundException, BeerStockExceededException {
+        while (true) {
+            Segment segment;
+            lock.readLock().lock();
+            try {
+                segment = current;
+                int offset = segment.reserve(DELTA_SIZE);
+                if (offset >= 0) {
+                    // A rejected adjustment leaves the reserved slot empty; replay skips it.
+                    int quantity = adjustment.apply();
+                    MappedByteBuffer buffer = segment.buffer;
+                    buffer.putLong(offset + HEADER, id);
+                    buffer.putInt(offset + HEADER + 8, delta);
+                    commit(segment, offset, DELTA, 12);
+                    return quantity;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            rotate(segment);
+        }
+    }
+
+    public void create(Beer beer, Runnable apply) {
+        exclusive(apply, segment -> {
+            byte[] name = beer.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] brand = beer.getBrand().getBytes(StandardCharsets.UTF_8);
+            byte[] type = beer.getType().name().getBytes(StandardCharsets.UTF_8);
+            return writeCreate(segment, beer, name, brand, type);
+        });
+    }
+
+    public void delete(long id, Runnable apply) {
+        exclusive(apply, segment -> {
+            int offset = segment.reserve(SLOT);
+            if (offset >= 0) {
+                segment.buffer.putLong(offset + HEADER, id);
+                commit(segment, offset, DELETE, 8);
+            }
+            return offset >= 0;
+        });
+    }
+
+    /**
+     * Writes the current state into a new segment, forces it to disk and deletes every older
+     * segment.
+     */
+    public void checkpoint() {
+        lock.writeLock().lock();
+        try {
+            Collection<Beer> beers = snapshot.get();
+            List<byte[][]> encoded = new ArrayList<>(beers.size());
+            long size = 0;
+            for (Beer beer : beers) {
+                byte[][] strings = {
+                        beer.getName().getBytes(StandardCharsets.UTF_8),
+                        beer.getBrand().getBytes(StandardCharsets.UTF_8),
+                        beer.getType().name().getBytes(StandardCharsets.UTF_8)};
+                encoded.add(strings);
+                size += align(HEADER + createLength(strings));
+            }
+            Segment next = open(nextSequence++, Math.toIntExact(size + segmentSize));
+            int index = 0;
+            for (Beer beer : beers) {
+                byte[][] strings = encoded.get(index++);
+                writeCreate(next, beer, strings[0], strings[1], strings[2]);
+            }
+            next.buffer.force();
+
+            Segment previous = current;
+            current = next;
+            if (previous != null) {
+                previous.buffer.force();
+            }
+            for (Path path : segments()) {
+                if (sequenceOf(path) < next.sequence) {
+                    Files.delete(path);
+                }
+            }
+            log.info("Stock WAL checkpoint of {} beers in segment {}", beers.size(), next.sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void force() {
+        Segment segment = current;
+        if (segment != null) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        force();
+    }
+
+    private void exclusive(Runnable apply, SegmentWrite write) {
+        lock.writeLock().lock();
+        try {
+            apply.run();
+            // No room: the checkpoint already contains the change that was just applied.
+            if (!write.write(current)) {
+                checkpoint();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rotate(Segment full) {
+        lock.writeLock().lock();
+        try {
+            if (current == full) {
+                checkpoint();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean writeCreate(Segment segment, Beer beer, byte[] name, byte[] brand, byte[] type) {
+        int length = createLength(new byte[][]{name, brand, type});
+        int offset = segment.reserve(align(HEADER + length));
+        if (offset < 0) {
+            return false;
+        }
+        MappedByteBuffer buffer = segment.buffer;
+        int position = offset + HEADER;
+        buffer.putLong(position, beer.getId());
+        buffer.putInt(position + 8, beer.getMax());
+        buffer.putInt(position + 12, beer.getQuantity());
+        position += 16;
+        for (byte[] string : new byte[][]{name, brand, type}) {
+            buffer.putShort(position, (short) string.length);
+            buffer.put(position + 2, string);
+            position += 2 + string.length;
+        }
+        commit(segment, offset, CREATE, length);
+        return true;
+    }
+
+    private static Beer decodeCreate(ByteBuffer payload) {
+        int position = 16;
+        String[] strings = new String[3];
+        for (int i = 0; i < strings.length; i++) {
+            int length = Short.toUnsignedInt(payload.getShort(position));
+            byte[] bytes = new byte[length];
+            payload.get(position + 2, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + length;
+        }
+        return new Beer(payload.getLong(0), strings[0], strings[1], payload.getInt(8), payload.getInt(12),
+                BeerType.valueOf(strings[2]), 0, 0);
+    }
+
+    private static int createLength(byte[][] strings) {
+        int length = 16;
+        for (byte[] string : strings) {
+            length += 2 + string.length;
+        }
+        return length;
+    }
+
+    private void commit(Segment segment, int offset, byte type, int length) {
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putInt(offset + 4, length);
+        buffer.putInt(offset + 8, crc(buffer, offset, length));
+        buffer.put(offset, type);
+        if (fsync == StockProperties.FsyncPolicy.ALWAYS) {
+            buffer.force(offset, align(HEADER + length));
+        }
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER, length));
+        return (int) crc.getValue();
+    }
+
+    private static int align(int size) {
+        return (size + SLOT - 1) / SLOT * SLOT;
+    }
+
+    private Segment open(long sequence, int capacity) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    public interface Adjustment {
+
+        int apply() throws BeerNotFoundException, BeerStockExceededException;
+    }
+
+    @FunctionalInterface
+    private interface SegmentWrite {
+
+        boolean write(Segment segment);
+    }
+
+    /**
+     * State rebuilt from the log: live beers with their quantities and the ids deleted since
+     * they were last created.
+     */
+    public record Replay(Map<Long, Beer> beers, Set<Long> deleted, int records) {
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger position = new AtomicInteger();
+
+        private Segment(long sequence, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.buffer = buffer;
+        }
+
+        private int reserve(int size) {
+            while (true) {
+                int offset = position.get();
+                if (offset + size > buffer.capacity()) {
+                    return -1;
+                }
+                if (position.compareAndSet(offset, offset + size)) {
+                    return offset;
+                }
+            }
+        }
+    }
+}
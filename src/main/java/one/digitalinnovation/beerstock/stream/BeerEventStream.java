@@ -0,0 +1,317 @@
+package one.digitalinnovation.beerstock.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import one.digitalinnovation.beerstock.config.BeerStreamProperties;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerStreamEventDTO;
+import one.digitalinnovation.beerstock.event.BeerChangedEvent;
+import one.digitalinnovation.beerstock.exception.StreamCapacityExceededException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes every committed {@link BeerChangedEvent} to {@code GET /api/v1/beers/stream} subscribers
+ * as server-sent events. The write path only appends to a {@link BroadcastRing} and wakes one
+ * dispatcher thread. Subscribers hold no thread: each is an async request with a non-blocking
+ * {@link WriteListener}, written by the dispatcher only while its socket accepts data and resumed
+ * by the container once a slow client catches up. A subscriber that falls more than the buffer
+ * behind skips to the newest event and gets a {@code resync} event instead.
+ * <p>
+ * Event ids are {@code <epoch>-<sequence>}, with an epoch drawn once per boot. Sequences restart
+ * with the process, so an id from an earlier boot, or from another instance, cannot be resumed
+ * and also gets {@code resync}.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BeerEventStream {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final BeerStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final BroadcastRing<Frame> ring;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary lag;
+    private final Counter resyncs;
+    private final Thread dispatcher = new Thread(this::dispatchLoop, "beer-stream-dispatcher");
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private volatile boolean running = true;
+
+    public BeerEventStream(BeerStreamProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.ring = new BroadcastRing<>(properties.getBufferSize());
+        Gauge.builder("beerstock.stream.subscribers", subscribers, Set::size)
+                .description("Open beer stream subscriptions")
+                .register(meterRegistry);
+        this.lag = DistributionSummary.builder("beerstock.stream.subscriber.lag")
+                .description("Events a subscriber was behind when each event was written to it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("beerstock.stream.resyncs")
+                .description("Subscribers that fell behind the buffer and were told to resync")
+                .register(meterRegistry);
+        dispatcher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        subscribers.forEach(Subscriber::close);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBeerChanged(BeerChangedEvent event) {
+        ring.publish(new Frame(event));
+        LockSupport.unpark(dispatcher);
+    }
+
+    /**
+     * Starts an async response streaming from the next event, or from the one after
+     * {@code lastEventId} when a client reconnects.
+     */
+    public void subscribe(HttpServletRequest request, HttpServletResponse response, String lastEventId)
+            throws StreamCapacityExceededException, IOException {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new StreamCapacityExceededException(properties.getMaxSubscribers());
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(properties.getTimeout().toMillis());
+
+        long head = ring.head();
+        Long resumeAfter = sequenceOf(lastEventId);
+        long next = resumeAfter == null ? head : resumeAfter + 1;
+        Subscriber subscriber = new Subscriber(async, Math.min(next, head));
+        // What the client missed is unknown for an id of another boot, or one ahead of the buffer.
+        subscriber.resyncDue = lastEventId != null && (resumeAfter == null || next > head);
+        async.addListener(subscriber);
+        subscribers.add(subscriber);
+        response.getOutputStream().setWriteListener(subscriber);
+    }
+
+    /**
+     * The ring sequence of an event id issued by this boot, or null for any other id.
+     */
+    private Long sequenceOf(String eventId) {
+        if (eventId == null || !eventId.startsWith(epoch + "-")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(eventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void dispatchLoop() {
+        long heartbeatNanos = properties.getHeartbeat().toNanos();
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (running) {
+            LockSupport.parkNanos(this, nextHeartbeat - System.nanoTime());
+            boolean heartbeat = System.nanoTime() - nextHeartbeat >= 0;
+            if (heartbeat) {
+                nextHeartbeat = System.nanoTime() + heartbeatNanos;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.heartbeatDue |= heartbeat;
+                subscriber.drain();
+            }
+        }
+    }
+
+    private byte[] render(long sequence, BeerChangedEvent event) {
+        BeerDTO beer = event.beer();
+        BeerStreamEventDTO data = BeerStreamEventDTO.builder()
+                .id(beer.getId())
+                .name(beer.getName())
+                .quantity(beer.getQuantity())
+                .delta(event.quantityDelta())
+                .build();
+        try {
+            return ("id: " + epoch + "-" + sequence
+                    + "\nevent: " + event.type().name().toLowerCase(Locale.ROOT).replace('_', '-')
+                    + "\ndata: " + objectMapper.writeValueAsString(data) + "\n\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An event and its SSE encoding, rendered once by whichever subscriber writes it first.
+     */
+    private final class Frame {
+
+        private final BeerChangedEvent event;
+        private volatile byte[] bytes;
+
+        private Frame(BeerChangedEvent event) {
+            this.event = event;
+        }
+
+        private byte[] bytes(long sequence) {
+            byte[] rendered = bytes;
+            if (rendered == null) {
+                rendered = render(sequence, event);
+                bytes = rendered;
+            }
+            return rendered;
+        }
+    }
+
+    private final class Subscriber implements WriteListener, AsyncListener {
+
+        private final AsyncContext async;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean signalled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        // Only touched by the thread holding draining.
+        private long next;
+        private long missed;
+        private boolean resyncDue;
+        private boolean connected;
+
+        private Subscriber(AsyncContext async, long next) {
+            this.async = async;
+            this.next = next;
+        }
+
+        /**
+         * Called by the dispatcher and by the container; one of them writes at a time, and a call
+         * arriving while the other is writing makes it check again before it lets go.
+         */
+        private void drain() {
+            signalled.set(true);
+            while (signalled.get() && !closed.get() && draining.compareAndSet(false, true)) {
+                signalled.set(false);
+                try {
+                    write(async.getResponse().getOutputStream());
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Closing beer stream subscriber", e);
+                    close();
+                } finally {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void write(ServletOutputStream out) throws IOException {
+            // The first pass flushes the headers even when there is nothing to send yet.
+            boolean unflushed = !connected;
+            connected = true;
+            while (out.isReady()) {
+                if (resyncDue) {
+                    resyncDue = false;
+                    resyncs.increment();
+                    out.write(("event: resync\ndata: {\"missed\":" + missed + "}\n\n").getBytes(StandardCharsets.UTF_8));
+                    unflushed = true;
+                    continue;
+                }
+                BroadcastRing.Slot<Frame> slot = ring.read(next);
+                if (slot == null) {
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        out.write(HEARTBEAT);
+                        unflushed = true;
+                    } else if (unflushed) {
+                        out.flush();
+                        unflushed = false;
+                    } else {
+                        return;
+                    }
+                    continue;
+                }
+                if (slot.sequence() > next) {
+                    long head = ring.head();
+                    missed = head - next;
+                    next = head;
+                    resyncDue = true;
+                    continue;
+                }
+                lag.record(ring.head() - 1 - next);
+                out.write(slot.value().bytes(slot.sequence()));
+                next++;
+                unflushed = true;
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                try {
+                    async.complete();
+                } catch (IllegalStateException e) {
+                    // already completed by the container
+                }
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            closed.set(true);
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
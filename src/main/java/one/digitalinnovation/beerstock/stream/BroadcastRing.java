@@ -0,0 +1,51 @@
+package one.digitalinnovation.beerstock.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size broadcast buffer: one shared publish sequence and a read position kept by each
+ * reader. Publishing claims the next sequence and overwrites the oldest slot, so it never waits
+ * for readers; a reader more than {@link #capacity()} behind finds its sequence overwritten.
+ */
+final class BroadcastRing<T> {
+
+    private final AtomicReferenceArray<Slot<T>> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(1);
+
+    BroadcastRing(int minimumCapacity) {
+        int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, minimumCapacity - 1)) << 1);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    long publish(T value) {
+        long sequence = head.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot<>(sequence, value));
+        return sequence;
+    }
+
+    /**
+     * The sequence the next publish will take. Sequences start at 1.
+     */
+    long head() {
+        return head.get();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the slot for {@code sequence}: null when it is not published yet, or a slot with a
+     * higher sequence when it was already overwritten.
+     */
+    Slot<T> read(long sequence) {
+        Slot<T> slot = slots.get((int) (sequence & mask));
+        return slot == null || slot.sequence() < sequence ? null : slot;
+    }
+
+    record Slot<T>(long sequence, T value) {
+    }
+}
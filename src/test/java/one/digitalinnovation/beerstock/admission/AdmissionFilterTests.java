@@ -0,0 +1,88 @@
+package one.digitalinnovation.beerstock.admission;
+
+import one.digitalinnovation.beerstock.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-admission;DB_CLOSE_DELAY=-1",
+        "beerstock.admission.enabled=true",
+        "beerstock.admission.write.rate=0.1",
+        "beerstock.admission.write.burst=2"})
+class AdmissionFilterTests {
+
+    private static final String FAST_ROUTE = "GET /api/v1/beers/{name}";
+    private static final String SLOW_ROUTE = "POST /api/v1/beers/import";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void eachClientHasItsOwnWriteBudgetAndReadsAreBudgetedApart() throws Exception {
+        mockMvc.perform(create("Admission One", "noisy")).andExpect(status().isCreated());
+        mockMvc.perform(create("Admission Two", "noisy")).andExpect(status().isCreated());
+        mockMvc.perform(create("Admission Three", "noisy"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+
+        mockMvc.perform(get("/api/v1/beers").header("X-API-Key", "noisy")).andExpect(status().isOk());
+        mockMvc.perform(create("Admission Three", "quiet")).andExpect(status().isCreated());
+    }
+
+    @Test
+    void concurrencyLimitBacksOffOnSlowRequestsAndGrowsBackWhenBusy() {
+        AdmissionProperties.Concurrency properties = new AdmissionProperties.Concurrency();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(2);
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        properties.setBackoffRatio(0.5);
+        AimdLimiter limiter = new AimdLimiter(properties);
+
+        int[] admitted = {limiter.tryAcquire(), limiter.tryAcquire(), limiter.tryAcquire(), limiter.tryAcquire()};
+        assertThat(limiter.tryAcquire(), equalTo(-1));
+
+        limiter.release(admitted[3], FAST_ROUTE, Duration.ofMillis(10).toNanos(), false, true);
+        limiter.release(admitted[2], FAST_ROUTE, Duration.ofMillis(500).toNanos(), false, true);
+        assertThat(limiter.limit(), equalTo(2));
+
+        // A route that is always slow sets its own baseline and leaves the limit alone.
+        limiter.release(admitted[1], SLOW_ROUTE, Duration.ofMillis(500).toNanos(), false, true);
+        limiter.release(admitted[0], SLOW_ROUTE, Duration.ofMillis(600).toNanos(), false, true);
+        assertThat(limiter.limit(), equalTo(2));
+
+        for (int round = 0; round < 2; round++) {
+            int first = limiter.tryAcquire();
+            int second = limiter.tryAcquire();
+            limiter.release(second, FAST_ROUTE, Duration.ofMillis(10).toNanos(), false, true);
+            limiter.release(first, FAST_ROUTE, Duration.ofMillis(10).toNanos(), false, true);
+        }
+        assertThat(limiter.limit(), equalTo(3));
+
+        limiter.release(limiter.tryAcquire(), FAST_ROUTE, Duration.ofMillis(10).toNanos(), true, true);
+        assertThat(limiter.limit(), equalTo(2));
+        assertThat(limiter.inFlight(), equalTo(0));
+    }
+
+    private static MockHttpServletRequestBuilder create(String name, String apiKey) {
+        return post("/api/v1/beers")
+                .header("X-API-Key", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"brand\":\"Admission\",\"max\":50,\"quantity\":10,\"type\":\"IPA\"}");
+    }
+}
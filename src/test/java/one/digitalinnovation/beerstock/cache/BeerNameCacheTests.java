@@ -0,0 +1,76 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-cache;DB_CLOSE_DELAY=-1",
+        "beerstock.cache.negative-ttl=300ms"})
+class BeerNameCacheTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Test
+    void stockChangesAndDeletesEvictTheCachedBeer() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTO.builder().name("Cached Lager").brand("Cache").max(50).quantity(10)
+                .type(BeerType.LAGER).build());
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(10));
+
+        beerService.increment(beer.getId(), 5);
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(15));
+
+        beerService.decrement(beer.getId(), 7);
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(8));
+
+        beerService.deleteById(beer.getId());
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName(beer.getName()));
+    }
+
+    @Test
+    void aCachedMissDoesNotLetADuplicateNameThrough() throws Exception {
+        String name = "Cached Duplicate";
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName(name));
+        beerRepository.save(beer(name));
+
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeer(BeerDTO.builder().name(name)
+                .brand("Cache").max(50).quantity(10).type(BeerType.ALE).build()));
+    }
+
+    @Test
+    void missesAreRememberedForTheNegativeTtlOnly() throws Exception {
+        String name = "Cached Latecomer";
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName(name));
+
+        beerRepository.save(beer(name));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName(name));
+
+        Thread.sleep(400);
+        assertThat(beerService.findByName(name).getQuantity(), equalTo(10));
+    }
+
+    private static Beer beer(String name) {
+        Beer beer = new Beer();
+        beer.setName(name);
+        beer.setBrand("Cache");
+        beer.setMax(50);
+        beer.setQuantity(10);
+        beer.setType(BeerType.ALE);
+        return beer;
+    }
+}
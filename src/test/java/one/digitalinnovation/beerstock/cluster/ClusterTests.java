@@ -0,0 +1,155 @@
+package one.digitalinnovation.beerstock.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Three instances in this JVM on random ports, sharing one in-memory database like separate
+ * processes would share a database server.
+ */
+class ClusterTests {
+
+    private static final int NODES = 3;
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startNodes() {
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new SpringApplicationBuilder(BeerstockApplication.class)
+                    .profiles("cluster")
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:beer-cluster;DB_CLOSE_DELAY=-1",
+                            "--spring.jmx.enabled=false",
+                            "--beerstock.cluster.sync-interval=50ms",
+                            "--beerstock.cluster.settle-window=200ms",
+                            "--beerstock.cluster.rollup-refresh=100ms"));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void decrementsSpreadOverEveryNodeNeverOversell() throws Exception {
+        BeerDTO beer = create(0, "Cluster Oversell", 60);
+
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 90; i++) {
+                int node = i % NODES;
+                statuses.add(executor.submit(() -> send(node, HttpRequest.newBuilder(uri(node, "/" + beer.getId() + "/decrement"))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"quantity\":1}"))).statusCode()));
+            }
+        }
+        int applied = 0;
+        int exceeded = 0;
+        for (Future<Integer> status : statuses) {
+            if (status.get() == 200) {
+                applied++;
+            } else if (status.get() == 400) {
+                exceeded++;
+            }
+        }
+        assertThat(applied, equalTo(60));
+        assertThat(exceeded, equalTo(30));
+
+        for (int node = 0; node < NODES; node++) {
+            assertThat(get(node, "/" + beer.getId() + "/availability").path("quantity").asInt(), equalTo(0));
+            await(node, "/" + encode(beer.getName()), found -> found.path("quantity").asInt() == 0);
+        }
+    }
+
+    @Test
+    void changesOnOneNodeReachTheIndexesAndFeedsOfTheOthers() throws Exception {
+        long since = get(2, "/changes?since=0").path("version").asLong();
+        BeerDTO first = create(0, "Cluster Gose Alpha", 1);
+        BeerDTO second = create(1, "Cluster Gose Beta", 1);
+
+        await(2, "/search?q=cluster%20gose", results -> contains(results, "name", first.getName())
+                && contains(results, "name", second.getName()));
+        await(2, "/low-stock", low -> contains(low, "name", first.getName()) && contains(low, "name", second.getName()));
+        await(2, "/stats", stats -> contains(stats.path("brands"), "name", "Cluster"));
+        await(2, "/changes?since=" + since, changes -> contains(changes.path("changed"), "name", first.getName())
+                && contains(changes.path("changed"), "name", second.getName()));
+
+        assertThat(send(1, HttpRequest.newBuilder(uri(1, "/" + first.getId())).DELETE()).statusCode(), equalTo(204));
+        await(2, "/search?q=cluster%20gose", results -> !contains(results, "name", first.getName()));
+        await(0, "/low-stock", low -> !contains(low, "name", first.getName()));
+        assertThat(send(2, HttpRequest.newBuilder(uri(2, "/" + encode(first.getName())))).statusCode(), equalTo(404));
+    }
+
+    private BeerDTO create(int node, String name, int quantity) throws Exception {
+        BeerDTO beer = BeerDTO.builder().name(name).brand("Cluster").max(100).quantity(quantity).type(BeerType.WITBIER).build();
+        HttpResponse<String> response = send(node, HttpRequest.newBuilder(uri(node, ""))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(beer))));
+        assertThat(response.statusCode(), equalTo(201));
+        return objectMapper.readValue(response.body(), BeerDTO.class);
+    }
+
+    private void await(int node, String path, Predicate<JsonNode> condition) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        JsonNode body = get(node, path);
+        while (!condition.test(body)) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Node " + node + " still answers " + body + " for " + path);
+            }
+            Thread.sleep(50);
+            body = get(node, path);
+        }
+    }
+
+    private JsonNode get(int node, String path) throws Exception {
+        return objectMapper.readTree(send(node, HttpRequest.newBuilder(uri(node, path))).body());
+    }
+
+    private HttpResponse<String> send(int node, HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean contains(JsonNode array, String field, String value) {
+        for (JsonNode item : array) {
+            if (item.path(field).asText().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String encode(String name) {
+        return name.replace(" ", "%20");
+    }
+
+    private static URI uri(int node, String path) {
+        return URI.create("http://localhost:" + nodes.get(node).getEnvironment().getProperty("local.server.port")
+                + "/api/v1/beers" + path);
+    }
+}
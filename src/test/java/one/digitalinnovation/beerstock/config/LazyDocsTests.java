@@ -0,0 +1,42 @@
+package one.digitalinnovation.beerstock.config;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.webmvc.api.OpenApiWebMvcResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:beer-lazy-docs;DB_CLOSE_DELAY=-1")
+class LazyDocsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void docsBeansAreBuiltOnFirstUse() throws Exception {
+        String[] resources = beanFactory.getBeanNamesForType(OpenApiWebMvcResource.class, false, false);
+        assertThat(resources.length, equalTo(1));
+        assertThat(beanFactory.containsSingleton(resources[0]), equalTo(false));
+        assertThat(beanFactory.containsSingleton("customOpenAPI"), equalTo(false));
+
+        mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Beer Stock API")));
+        assertThat(beanFactory.containsSingleton(resources[0]), equalTo(true));
+    }
+}
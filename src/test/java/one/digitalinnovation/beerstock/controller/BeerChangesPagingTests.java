@@ -0,0 +1,144 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerChangesDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-changes-paging;DB_CLOSE_DELAY=-1",
+        "beerstock.changes.max-changes=2",
+        "beerstock.changes.tombstone-retention=5"
+})
+class BeerChangesPagingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BeerTombstoneRepository beerTombstoneRepository;
+
+    @Test
+    void aLongBacklogIsServedInPagesOfAtMostMaxChanges() throws Exception {
+        long before = currentVersion();
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(create("Paging " + i).getName());
+        }
+
+        List<String> seen = new ArrayList<>();
+        BeerChangesDTO page;
+        long since = before;
+        do {
+            page = changes(get("/api/v1/beers/changes").param("since", String.valueOf(since)));
+            assertThat(page.isReset(), equalTo(false));
+            assertThat(page.getChanged().size(), lessThanOrEqualTo(2));
+            page.getChanged().forEach(beer -> seen.add(beer.getName()));
+            since = page.getVersion();
+        } while (page.isMore());
+
+        assertThat(seen, equalTo(created));
+    }
+
+    @Test
+    void tombstonesPastTheRetentionArePrunedAndOlderPollsAreReset() throws Exception {
+        BeerDTO kept = create("Retention Kept");
+        BeerDTO pruned = create("Retention Pruned");
+        BeerDTO recent = create("Retention Recent");
+        long before = currentVersion();
+
+        remove(pruned);
+        for (int i = 0; i < 6; i++) {
+            mockMvc.perform(patch("/api/v1/beers/" + kept.getId() + "/increment")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"quantity\":1}"))
+                    .andExpect(status().isOk());
+        }
+        remove(recent);
+        assertThat(beerTombstoneRepository.existsById(pruned.getId()), equalTo(false));
+        assertThat(beerTombstoneRepository.existsById(recent.getId()), equalTo(true));
+
+        BeerChangesDTO page = changes(get("/api/v1/beers/changes").param("since", String.valueOf(before)));
+        long version = page.getVersion();
+        List<String> catalog = new ArrayList<>();
+        page.getChanged().forEach(beer -> catalog.add(beer.getName()));
+        while (page.isMore()) {
+            page = changes(get("/api/v1/beers/changes").param("since", String.valueOf(version)).param("cursor", page.getCursor()));
+            assertThat(page.isReset(), equalTo(true));
+            assertThat(page.getVersion(), equalTo(version));
+            page.getChanged().forEach(beer -> catalog.add(beer.getName()));
+        }
+        assertThat(catalog, allOf(hasItems(kept.getName()), not(hasItem(pruned.getName())), not(hasItem(recent.getName()))));
+
+        BeerChangesDTO idle = changes(get("/api/v1/beers/changes").param("since", String.valueOf(version)));
+        assertThat(idle.isReset(), equalTo(false));
+        assertThat(idle.getDeleted(), equalTo(List.of()));
+    }
+
+    @Test
+    void aRecentPollStillSeesTheDeletion() throws Exception {
+        BeerDTO removed = create("Retention Removed");
+        long before = currentVersion();
+        remove(removed);
+
+        BeerChangesDTO delta = changes(get("/api/v1/beers/changes").param("since", String.valueOf(before)));
+        assertThat(delta.isReset(), equalTo(false));
+        assertThat(delta.getDeleted(), contains(removed.getId()));
+    }
+
+    private long currentVersion() throws Exception {
+        // A since ahead of the server is answered with a reset at the current version.
+        return changes(get("/api/v1/beers/changes").param("since", String.valueOf(Long.MAX_VALUE))).getVersion();
+    }
+
+    private void remove(BeerDTO beer) throws Exception {
+        mockMvc.perform(delete("/api/v1/beers/" + beer.getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    private BeerDTO create(String name) throws Exception {
+        BeerDTO beer = BeerDTO.builder().name(name).brand("Sync").max(50).quantity(10).type(BeerType.ALE).build();
+        byte[] body = mockMvc.perform(post("/api/v1/beers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(beer)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, BeerDTO.class);
+    }
+
+    private BeerChangesDTO changes(MockHttpServletRequestBuilder request) throws Exception {
+        byte[] body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, BeerChangesDTO.class);
+    }
+}
@@ -0,0 +1,110 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerChangesDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:beer-changes;DB_CLOSE_DELAY=-1")
+class BeerChangesTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void changesReturnOnlyWhatMovedSinceTheGivenVersionIncludingDeletions() throws Exception {
+        long before = changes(0).getVersion();
+        BeerDTO kept = create("Changes Kept");
+        BeerDTO moved = create("Changes Moved");
+        BeerDTO removed = create("Changes Removed");
+
+        BeerChangesDTO initial = changes(before);
+        assertThat(initial.getChanged().stream().map(BeerDTO::getName).toList(),
+                contains(kept.getName(), moved.getName(), removed.getName()));
+
+        mockMvc.perform(patch("/api/v1/beers/" + moved.getId() + "/increment")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":5}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/beers/" + removed.getId()))
+                .andExpect(status().isNoContent());
+
+        BeerChangesDTO delta = changes(initial.getVersion());
+        assertThat(delta.getVersion(), greaterThan(initial.getVersion()));
+        assertThat(delta.getChanged().stream().map(BeerDTO::getId).toList(), contains(moved.getId()));
+        assertThat(delta.getChanged().get(0).getQuantity(), equalTo(15));
+        assertThat(delta.getDeleted(), contains(removed.getId()));
+
+        BeerChangesDTO idle = changes(delta.getVersion());
+        assertThat(idle.getChanged(), empty());
+        assertThat(idle.getDeleted(), empty());
+
+        BeerChangesDTO ahead = changes(delta.getVersion() + 1000);
+        assertThat(ahead.isReset(), equalTo(true));
+        assertThat(ahead.getChanged().stream().map(BeerDTO::getName).toList(),
+                allOf(hasItems(kept.getName(), moved.getName()), not(hasItem(removed.getName()))));
+    }
+
+    @Test
+    void unchangedListIsAnsweredWithNotModified() throws Exception {
+        BeerDTO beer = create("Changes ETag");
+        String eTag = mockMvc.perform(get("/api/v1/beers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/beers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/v1/beers/" + beer.getId() + "/decrement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":1}"))
+                .andExpect(status().isOk());
+        String changedETag = mockMvc.perform(get("/api/v1/beers").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedETag, not(equalTo(eTag)));
+    }
+
+    private BeerDTO create(String name) throws Exception {
+        BeerDTO beer = BeerDTO.builder().name(name).brand("Sync").max(50).quantity(10).type(BeerType.ALE).build();
+        byte[] body = mockMvc.perform(post("/api/v1/beers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(beer)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, BeerDTO.class);
+    }
+
+    private BeerChangesDTO changes(long since) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/v1/beers/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, BeerChangesDTO.class);
+    }
+}
@@ -0,0 +1,100 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.export.BeerXlsxExporter;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-export;DB_CLOSE_DELAY=-1",
+        "beerstock.export.row-window=2",
+        "beerstock.export.pdf-flush-rows=2"})
+class BeerExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (beerService.listAll().isEmpty()) {
+            for (int i = 1; i <= 5; i++) {
+                beerService.createBeer(BeerDTO.builder().name("Export Lager " + i).brand("Export").max(40).quantity(i * 4)
+                        .type(BeerType.LAGER).build());
+            }
+        }
+    }
+
+    @Test
+    void xlsxExportHasAHeaderAndOneRowPerBeer() throws Exception {
+        byte[] body = download("/api/v1/beers/export.xlsx", BeerXlsxExporter.CONTENT_TYPE, "beers.xlsx");
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(body))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getRow(0).getCell(1).getStringCellValue(), equalTo("Name"));
+            assertThat(sheet.getLastRowNum(), equalTo(5));
+            List<String> names = new ArrayList<>();
+            for (int index = 1; index <= sheet.getLastRowNum(); index++) {
+                names.add(sheet.getRow(index).getCell(1).getStringCellValue());
+            }
+            assertThat(names, hasItems("Export Lager 1", "Export Lager 5"));
+            Row last = sheet.getRow(5);
+            assertThat(last.getCell(4).getNumericCellValue(), equalTo(20.0));
+            assertThat(last.getCell(6).getNumericCellValue(), closeTo(0.5, 1e-9));
+        }
+    }
+
+    @Test
+    void pdfExportListsEveryBeer() throws Exception {
+        byte[] body = download("/api/v1/beers/export.pdf", "application/pdf", "beers.pdf");
+
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(body)))) {
+            String text = PdfTextExtractor.getTextFromPage(pdf.getFirstPage());
+            assertThat(text, containsString("Beer inventory"));
+            assertThat(text, containsString("Export Lager 1"));
+            assertThat(text, containsString("Export Lager 5"));
+            assertThat(text, containsString("50.0%"));
+        }
+    }
+
+    private byte[] download(String path, String contentType, String filename) throws Exception {
+        MvcResult started = mockMvc.perform(get(path)).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(filename)))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
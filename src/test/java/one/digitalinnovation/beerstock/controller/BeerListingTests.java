@@ -0,0 +1,108 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:beer-listing;DB_CLOSE_DELAY=-1")
+class BeerListingTests {
+
+    private static final List<String> NAMES = List.of("Listing 1", "Listing 2", "Listing 3", "Listing 4", "Listing 5");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BeerService beerService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (beerService.listAll().isEmpty()) {
+            for (String name : NAMES) {
+                beerService.createBeer(BeerDTO.builder().name(name).brand("Listing").max(50).quantity(10)
+                        .type(BeerType.WEISS).build());
+            }
+        }
+    }
+
+    @Test
+    void cursorsWalkTheCatalogInIdOrderWithoutGapsOrRepeats() throws Exception {
+        List<String> names = new ArrayList<>();
+        BeerPageDTO page = page(null);
+        int pages = 1;
+        while (page.getNextCursor() != null) {
+            assertThat(page.getItems().size(), equalTo(2));
+            page.getItems().forEach(beer -> names.add(beer.getName()));
+            page = page(page.getNextCursor());
+            pages++;
+        }
+        page.getItems().forEach(beer -> names.add(beer.getName()));
+
+        assertThat(pages, equalTo(3));
+        assertThat(names, contains(NAMES.toArray()));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() throws Exception {
+        String notANumber = Base64.getUrlEncoder().encodeToString("id:abc".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : List.of("%%%", "bm90LWEtY3Vyc29y", notANumber)) {
+            mockMvc.perform(get("/api/v1/beers").param("limit", "2").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void ndjsonStreamWritesOneBeerPerLine() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/beers").accept(MediaType.APPLICATION_NDJSON)).andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body, endsWith("}\n"));
+        List<String> names = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            names.add(objectMapper.readValue(line, BeerDTO.class).getName());
+        }
+        assertThat(names, contains(NAMES.toArray()));
+    }
+
+    private BeerPageDTO page(String cursor) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/v1/beers").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        BeerPageDTO page = objectMapper.readValue(body, BeerPageDTO.class);
+        if (page.getNextCursor() == null) {
+            assertThat(page.getItems().size(), equalTo(1));
+        }
+        return page;
+    }
+}
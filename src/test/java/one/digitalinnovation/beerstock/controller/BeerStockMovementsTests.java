@@ -0,0 +1,52 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:beer-stock-movements;DB_CLOSE_DELAY=-1")
+class BeerStockMovementsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void movementsAreAppliedAndAMovementWithoutIdOrDeltaRejectsTheBatch() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTO.builder().name("Movements Bock").brand("Movements")
+                .max(50).quantity(10).type(BeerType.LAGER).build());
+
+        mockMvc.perform(movements("[{\"id\":" + beer.getId() + ",\"delta\":-4},{\"id\":" + beer.getId() + ",\"delta\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$[0].quantity").value(7));
+
+        mockMvc.perform(movements("[{\"id\":" + beer.getId() + ",\"delta\":-1},{\"delta\":-1}]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(movements("[{\"id\":" + beer.getId() + "}]"))
+                .andExpect(status().isBadRequest());
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(7));
+    }
+
+    private static MockHttpServletRequestBuilder movements(String body) {
+        return post("/api/v1/beers/stock-movements")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+}
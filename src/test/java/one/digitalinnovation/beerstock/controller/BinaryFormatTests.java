@@ -0,0 +1,67 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:binary-format;DB_CLOSE_DELAY=-1")
+class BinaryFormatTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void beersAreNegotiatedAsCborOrSmileWithTypeOrdinalsAndJsonStaysTheDefault() throws Exception {
+        BeerDTO beer = BeerDTO.builder().name("Binary Stout").brand("Wire").max(50).quantity(10).type(BeerType.STOUT).build();
+        mockMvc.perform(post("/api/v1/beers")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(new CBORMapper().writeValueAsBytes(beer)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/beers/Binary Stout"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.type", equalTo("STOUT")));
+
+        byte[] json = mockMvc.perform(get("/api/v1/beers").accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/api/v1/beers").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/v1/beers").accept(SMILE))
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertTypeOrdinal(new CBORMapper(), cbor);
+        assertTypeOrdinal(new SmileMapper(), smile);
+        assertThat(cbor.length, lessThan(json.length));
+        assertThat(smile.length, lessThan(json.length));
+    }
+
+    private static void assertTypeOrdinal(ObjectMapper mapper, byte[] payload) throws Exception {
+        JsonNode beer = mapper.readTree(payload).get(0);
+        assertThat(beer.get("name").asText(), equalTo("Binary Stout"));
+        assertThat(beer.get("type").isInt(), equalTo(true));
+        assertThat(beer.get("type").asInt(), equalTo(BeerType.STOUT.ordinal()));
+    }
+}
@@ -0,0 +1,104 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1"
+})
+class ReactiveBeerControllerTests {
+
+    private static final String BEERS = "/api/v1/beers";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createFindAndAdjustStockWithinBounds() {
+        BeerDTO created = webTestClient.post().uri(BEERS)
+                .bodyValue(beer("Reactive Lager", 10))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BeerDTO.class).returnResult().getResponseBody();
+
+        webTestClient.post().uri(BEERS).bodyValue(beer("Reactive Lager", 10))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.patch().uri(BEERS + "/{id}/increment", created.getId())
+                .bodyValue(QuantityDTO.builder().quantity(15).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.quantity").isEqualTo(25);
+        Map<String, Object> stamps = jdbcTemplate.queryForMap(
+                "select change_version, version from beer where id = ?", created.getId());
+        assertThat(((Number) stamps.get("CHANGE_VERSION")).longValue(), greaterThan(0L));
+        assertThat(((Number) stamps.get("VERSION")).longValue(), equalTo(1L));
+
+        webTestClient.patch().uri(BEERS + "/{id}/decrement", created.getId())
+                .bodyValue(QuantityDTO.builder().quantity(30).build())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.get().uri(BEERS + "/{name}", "Reactive Lager")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.quantity").isEqualTo(25);
+
+        webTestClient.delete().uri(BEERS + "/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri(BEERS + "/{name}", "Reactive Lager")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void listStreamsEveryBeerAsNdjson() {
+        for (int i = 0; i < 20; i++) {
+            webTestClient.post().uri(BEERS).bodyValue(beer("Streamed " + i, i)).exchange().expectStatus().isCreated();
+        }
+
+        Flux<BeerDTO> beers = webTestClient.get().uri(BEERS)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BeerDTO.class)
+                .getResponseBody();
+
+        assertThat(beers.filter(beer -> beer.getName().startsWith("Streamed ")).count().block(), equalTo(20L));
+    }
+
+    private static BeerDTO beer(String name, int quantity) {
+        return BeerDTO.builder()
+                .name(name)
+                .brand("Reactor")
+                .max(50)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package one.digitalinnovation.beerstock.diagnostics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+@ActiveProfiles("virtual")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:beer-virtual;DB_CLOSE_DELAY=-1")
+class VirtualThreadPinningMonitorTests {
+
+    private final Object lock = new Object();
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void virtualProfileServesRequestsOnVirtualThreadsWithABoundedPool() throws Exception {
+        TomcatWebServer webServer = (TomcatWebServer) context.getWebServer();
+        assertThat(webServer.getTomcat().getConnector().getProtocolHandler().getExecutor(),
+                instanceOf(VirtualThreadExecutor.class));
+        assertThat(dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize(), equalTo(32));
+        assertThat(context.getBeanNamesForType(VirtualThreadPinningMonitor.class).length, equalTo(1));
+    }
+
+    @Test
+    void blockingInsideAMonitorIsRecordedAsPinning() throws Exception {
+        Thread pinning = Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        pinning.join();
+
+        // JFR hands events to the stream about once a second.
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (meterRegistry.get("jvm.threads.virtual.pinned").timer().count() == 0) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("No pinning event recorded within 10 seconds");
+            }
+            Thread.sleep(100);
+        }
+    }
+}
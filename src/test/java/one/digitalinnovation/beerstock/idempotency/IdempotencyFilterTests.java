@@ -0,0 +1,129 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:beer-idempotency;DB_CLOSE_DELAY=-1")
+class IdempotencyFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void retriedDecrementIsAppliedOnceAndReplaysItsResponse() throws Exception {
+        BeerDTO beer = create("Idempotent Ale");
+        MockHttpServletResponse first = mockMvc.perform(decrement(beer.getId(), 3, "retry-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn().getResponse();
+
+        MockHttpServletResponse retry = mockMvc.perform(decrement(beer.getId(), 3, "retry-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.quantity").value(7))
+                .andReturn().getResponse();
+        assertThat(retry.getContentAsString(), equalTo(first.getContentAsString()));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(7));
+
+        mockMvc.perform(decrement(beer.getId(), 30, "retry-2")).andExpect(status().isBadRequest());
+        mockMvc.perform(decrement(beer.getId(), 30, "retry-2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+
+        mockMvc.perform(patch("/api/v1/beers/" + beer.getId() + "/increment")
+                        .header(IdempotencyFilter.KEY_HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":3}"))
+                .andExpect(status().isUnprocessableEntity());
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(7));
+    }
+
+    @Test
+    void keysAreScopedToTheClientAndTheRequestBody() throws Exception {
+        BeerDTO beer = create("Idempotent Porter");
+        mockMvc.perform(decrement(beer.getId(), 2, "shared-key").header("X-API-Key", "client-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(8));
+
+        mockMvc.perform(decrement(beer.getId(), 2, "shared-key").header("X-API-Key", "client-b"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andExpect(jsonPath("$.quantity").value(6));
+        mockMvc.perform(decrement(beer.getId(), 2, "shared-key").header("X-API-Key", "client-a"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.quantity").value(8));
+
+        mockMvc.perform(decrement(beer.getId(), 5, "shared-key").header("X-API-Key", "client-a"))
+                .andExpect(status().isUnprocessableEntity());
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(6));
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        BeerDTO beer = create("Idempotent Stout");
+        int duplicates = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(duplicates)) {
+            for (int i = 0; i < duplicates; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(decrement(beer.getId(), 1, "checkout-42")).andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+            int replays = 0;
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertThat(response.get().getStatus(), equalTo(200));
+                assertThat(objectMapper.readValue(response.get().getContentAsByteArray(), BeerDTO.class).getQuantity(), equalTo(9));
+                replays += response.get().getHeader(IdempotencyFilter.REPLAYED_HEADER) == null ? 0 : 1;
+            }
+            assertThat(replays, equalTo(duplicates - 1));
+        }
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(9));
+    }
+
+    private BeerDTO create(String name) throws Exception {
+        return beerService.createBeer(BeerDTO.builder().name(name).brand("Retry").max(50).quantity(10)
+                .type(BeerType.ALE).build());
+    }
+
+    private static MockHttpServletRequestBuilder decrement(Long id, int quantity, String key) {
+        return patch("/api/v1/beers/" + id + "/decrement")
+                .header(IdempotencyFilter.KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\":" + quantity + "}");
+    }
+}
@@ -0,0 +1,92 @@
+package one.digitalinnovation.beerstock.lowstock;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.LowStockDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.event.LowStockAlertEvent;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+@RecordApplicationEvents
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-low-stock;DB_CLOSE_DELAY=-1",
+        "beerstock.low-stock.threshold=10%",
+        "beerstock.low-stock.hysteresis=5%",
+        "beerstock.low-stock.types.IPA=20",
+        "beerstock.low-stock.beers.[Low\\ Stock\\ Special]=50%"})
+class LowStockIndexTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void alertIsRaisedOnceAndClearsOnlyPastTheHysteresisBand() throws Exception {
+        BeerDTO beer = create("Low Stock IPA", BeerType.IPA, 50);
+
+        beerService.decrement(beer.getId(), 30);
+        beerService.decrement(beer.getId(), 2);
+        assertThat(alerts(), contains(LowStockAlertEvent.State.RAISED));
+        assertThat(lowStock(beer).getQuantity(), equalTo(18));
+        assertThat(lowStock(beer).getThreshold(), equalTo(20));
+
+        beerService.increment(beer.getId(), 7);
+        assertThat(alerts(), contains(LowStockAlertEvent.State.RAISED));
+        assertThat(lowStock(beer).getQuantity(), equalTo(25));
+
+        beerService.increment(beer.getId(), 1);
+        assertThat(alerts(), contains(LowStockAlertEvent.State.RAISED, LowStockAlertEvent.State.CLEARED));
+        assertThat(names(), not(hasItem(beer.getName())));
+    }
+
+    @Test
+    void beerThresholdsOverrideTheirTypeAndDeletedBeersLeaveTheIndex() throws Exception {
+        BeerDTO special = create("Low Stock Special", BeerType.IPA, 50);
+        BeerDTO regular = create("Low Stock Regular", BeerType.LAGER, 50);
+        assertThat(names(), hasItem(special.getName()));
+        assertThat(names(), not(hasItem(regular.getName())));
+
+        beerService.decrement(regular.getId(), 40);
+        assertThat(names(), hasItem(regular.getName()));
+
+        beerService.deleteById(special.getId());
+        beerService.deleteById(regular.getId());
+        assertThat(beerService.listLowStock().stream()
+                .filter(low -> low.getName().startsWith("Low Stock ")).toList(), empty());
+    }
+
+    private BeerDTO create(String name, BeerType type, int quantity) throws Exception {
+        return beerService.createBeer(BeerDTO.builder().name(name).brand("Low Stock").max(100).quantity(quantity)
+                .type(type).build());
+    }
+
+    private List<LowStockAlertEvent.State> alerts() {
+        return events.stream(LowStockAlertEvent.class).map(LowStockAlertEvent::state).toList();
+    }
+
+    private LowStockDTO lowStock(BeerDTO beer) {
+        return beerService.listLowStock().stream()
+                .filter(low -> low.getId().equals(beer.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<String> names() {
+        return beerService.listLowStock().stream().map(LowStockDTO::getName).toList();
+    }
+}
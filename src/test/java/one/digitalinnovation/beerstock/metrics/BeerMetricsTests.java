@@ -0,0 +1,70 @@
+package one.digitalinnovation.beerstock.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-metrics;DB_CLOSE_DELAY=-1",
+        "beerstock.low-stock.threshold=10%",
+        "beerstock.metrics.gauge-refresh=0s"})
+class BeerMetricsTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void stockGaugesCountUnitsAndBeersAtOrBelowTheirLowStockThreshold() throws Exception {
+        double total = gauge("beerstock.stock.total");
+        double low = gauge("beerstock.stock.low");
+
+        create("Metrics Nearly Dry", 50, 2);
+        create("Metrics At Threshold", 50, 5);
+        create("Metrics Plenty", 50, 30);
+
+        assertThat(gauge("beerstock.stock.total"), equalTo(total + 37));
+        assertThat(gauge("beerstock.stock.low"), equalTo(low + 2));
+    }
+
+    @Test
+    void serviceOperationsAreTimedWithTheirRepositoryAndMappingShare() throws Exception {
+        BeerDTO beer = create("Metrics Timed", 50, 10);
+        beerService.findByName(beer.getName());
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName("Metrics Missing"));
+
+        assertThat(meterRegistry.get("beerstock.service").tag("method", "createBeer").tag("exception", "none")
+                .timer().count(), greaterThan(0L));
+        assertThat(meterRegistry.get("beerstock.service.repository").tag("method", "createBeer")
+                .timer().totalTime(TimeUnit.NANOSECONDS), greaterThan(0.0));
+        assertThat(meterRegistry.get("beerstock.service.mapping").tag("method", "createBeer")
+                .timer().totalTime(TimeUnit.NANOSECONDS), greaterThan(0.0));
+        assertThat(meterRegistry.get("beerstock.service").tag("method", "findByName")
+                .tag("exception", "BeerNotFoundException").timer().count(), equalTo(1L));
+        assertThat(meterRegistry.get("beerstock.service.errors").tag("method", "findByName")
+                .tag("exception", "BeerNotFoundException").counter().count(), equalTo(1.0));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private BeerDTO create(String name, int max, int quantity) throws Exception {
+        return beerService.createBeer(BeerDTO.builder().name(name).brand("Metrics").max(max).quantity(quantity)
+                .type(BeerType.MALZBIER).build());
+    }
+}
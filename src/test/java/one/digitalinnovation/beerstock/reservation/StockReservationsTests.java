@@ -0,0 +1,147 @@
+package one.digitalinnovation.beerstock.reservation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.dto.StockAvailabilityDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-reservations;DB_CLOSE_DELAY=-1",
+        "beerstock.reservations.tick=10ms",
+        "beerstock.reservations.wheel-size=4"})
+class StockReservationsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StockReservations stockReservations;
+
+    @Test
+    void heldUnitsCannotBeSoldTwiceAndConfirmingDecrementsThem() throws Exception {
+        BeerDTO beer = create("Reserved Lager");
+        ReservationDTO first = reserve(beer.getId(), 6, null);
+        ReservationDTO second = reserve(beer.getId(), 3, null);
+        assertThat(availability(beer.getId()), equalTo(new StockAvailabilityDTO(beer.getId(), 10, 9, 1)));
+
+        reserveExpecting(beer.getId(), 2, 400);
+        mockMvc.perform(patch("/api/v1/beers/" + beer.getId() + "/decrement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":2}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/beers/" + beer.getId() + "/reservations/" + first.getId() + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(4));
+        mockMvc.perform(delete("/api/v1/beers/" + beer.getId() + "/reservations/" + second.getId()))
+                .andExpect(status().isNoContent());
+        assertThat(availability(beer.getId()), equalTo(new StockAvailabilityDTO(beer.getId(), 4, 0, 4)));
+
+        mockMvc.perform(post("/api/v1/beers/" + beer.getId() + "/reservations/" + second.getId() + "/confirm"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/v1/beers/" + beer.getId() + "/reservations/" + first.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batchDecrementsCannotSellHeldUnits() throws Exception {
+        BeerDTO held = create("Reserved Batch Ale");
+        BeerDTO free = create("Unreserved Batch Ale");
+        ReservationDTO reservation = reserve(held.getId(), 8, null);
+
+        mockMvc.perform(post("/api/v1/beers/stock-movements")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + held.getId() + ",\"delta\":-3},{\"id\":" + free.getId() + ",\"delta\":-3}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("EXCEEDED"))
+                .andExpect(jsonPath("$[1].status").value("APPLIED"))
+                .andExpect(jsonPath("$[1].quantity").value(7));
+        mockMvc.perform(post("/api/v1/beers/stock-movements")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + held.getId() + ",\"delta\":-2}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("APPLIED"))
+                .andExpect(jsonPath("$[0].quantity").value(8));
+
+        mockMvc.perform(post("/api/v1/beers/" + held.getId() + "/reservations/" + reservation.getId() + "/confirm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(0));
+    }
+
+    @Test
+    void expiredHoldsAreReleasedAfterTheirTtl() throws Exception {
+        BeerDTO beer = create("Reserved Stout");
+        // Beyond the 160 ms of the two lower levels, so the hold cascades down before expiring.
+        ReservationDTO reservation = reserve(beer.getId(), 10, "PT0.3S");
+        assertThat(availability(beer.getId()).getAvailable(), equalTo(0));
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (stockReservations.held(beer.getId()) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(Instant.now(), greaterThanOrEqualTo(reservation.getExpiresAt()));
+        assertThat(availability(beer.getId()), equalTo(new StockAvailabilityDTO(beer.getId(), 10, 0, 10)));
+        mockMvc.perform(post("/api/v1/beers/" + beer.getId() + "/reservations/" + reservation.getId() + "/confirm"))
+                .andExpect(status().isNotFound());
+    }
+
+    private BeerDTO create(String name) throws Exception {
+        BeerDTO beer = BeerDTO.builder().name(name).brand("Checkout").max(50).quantity(10).type(BeerType.LAGER).build();
+        byte[] body = mockMvc.perform(post("/api/v1/beers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(beer)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, BeerDTO.class);
+    }
+
+    private ReservationDTO reserve(Long beerId, int quantity, String ttl) throws Exception {
+        byte[] body = reserveExpecting(beerId, quantity, 201, ttl);
+        return objectMapper.readValue(body, ReservationDTO.class);
+    }
+
+    private byte[] reserveExpecting(Long beerId, int quantity, int status) throws Exception {
+        return reserveExpecting(beerId, quantity, status, null);
+    }
+
+    private byte[] reserveExpecting(Long beerId, int quantity, int status, String ttl) throws Exception {
+        String request = ttl == null
+                ? "{\"quantity\":" + quantity + "}"
+                : "{\"quantity\":" + quantity + ",\"ttl\":\"" + ttl + "\"}";
+        return mockMvc.perform(post("/api/v1/beers/" + beerId + "/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().is(status))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private StockAvailabilityDTO availability(Long beerId) throws Exception {
+        byte[] body = mockMvc.perform(get("/api/v1/beers/" + beerId + "/availability"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, StockAvailabilityDTO.class);
+    }
+}
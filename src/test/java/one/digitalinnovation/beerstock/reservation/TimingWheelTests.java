@@ -0,0 +1,62 @@
+package one.digitalinnovation.beerstock.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.hasKey;
+
+class TimingWheelTests {
+
+    private static final long TICK = 10;
+    private static final long START = 1_000_003;
+
+    @Test
+    void everyReservationExpiresWithinOneTickAfterItsDeadlineAcrossLevels() {
+        // Four slots per level: level 0 spans 40 ms, level 1 160 ms, level 2 640 ms, level 3 2.56 s.
+        TimingWheel wheel = new TimingWheel(TICK, 4, START);
+        Random random = new Random(42);
+        Map<Long, Reservation> pending = new HashMap<>();
+        for (long id = 1; id <= 2_000; id++) {
+            Reservation reservation = reservation(id, START + random.nextInt(5_000));
+            assertThat(wheel.schedule(reservation), equalTo(true));
+            pending.put(id, reservation);
+        }
+        Reservation cancelled = pending.remove(7L);
+        wheel.cancel(cancelled);
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        for (long now = START; now <= START + 5_100; now += 3) {
+            long at = now;
+            wheel.advance(now, reservation -> expiredAt.put(reservation.id, at));
+        }
+
+        assertThat(expiredAt, aMapWithSize(pending.size()));
+        assertThat(expiredAt, not(hasKey(7L)));
+        pending.values().forEach(reservation -> {
+            long at = expiredAt.get(reservation.id);
+            assertThat(at, greaterThanOrEqualTo(reservation.deadline));
+            assertThat(at - reservation.deadline, lessThan(TICK + 3));
+        });
+    }
+
+    @Test
+    void pastDeadlinesAreRefused() {
+        TimingWheel wheel = new TimingWheel(TICK, 4, START);
+        wheel.advance(START + 100, reservation -> { });
+
+        assertThat(wheel.schedule(reservation(1, START + 50)), equalTo(false));
+    }
+
+    private static Reservation reservation(long id, long deadline) {
+        return new Reservation(id, 1, 1, deadline, new StockReservations.Holds());
+    }
+}
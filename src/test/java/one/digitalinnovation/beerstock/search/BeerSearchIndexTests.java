@@ -0,0 +1,53 @@
+package one.digitalinnovation.beerstock.search;
+
+import one.digitalinnovation.beerstock.dto.BeerSearchResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+
+class BeerSearchIndexTests {
+
+    private BeerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BeerSearchIndex(null, null);
+        index.add(1L, "Brahma Chopp", "Ambev");
+        index.add(2L, "Bohemia Puro Malte", "Ambev");
+        index.add(3L, "Praiana Maracujá", "Praiana");
+        index.add(4L, "Colorado Appia", "Colorado");
+    }
+
+    @Test
+    void prefixMatchesAreCaseAndAccentInsensitive() {
+        assertThat(ids(index.search("BRAH", 10)), contains(1L));
+        assertThat(ids(index.search("maracuja", 10)), contains(3L));
+    }
+
+    @Test
+    void brandPrefixReturnsEveryBeerOfTheBrand() {
+        assertThat(ids(index.search("amb", 10)), containsInAnyOrder(1L, 2L));
+    }
+
+    @Test
+    void typosFallBackToTrigramMatching() {
+        assertThat(ids(index.search("bohemai", 5)), hasItem(2L));
+    }
+
+    @Test
+    void removedBeersAreNoLongerReturned() {
+        index.remove(4L);
+        assertThat(index.search("colorado", 10), empty());
+    }
+
+    private static List<Long> ids(List<BeerSearchResultDTO> results) {
+        return results.stream().map(BeerSearchResultDTO::getId).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package one.digitalinnovation.beerstock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerImportReportDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-import;DB_CLOSE_DELAY=-1",
+        "beerstock.import.chunk-size=2"})
+class BeerImportServiceTests {
+
+    @Autowired
+    private BeerImportService beerImportService;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void csvRowsAreCountedAsImportedDuplicateOrInvalid() throws Exception {
+        beerService.createBeer(beer("Import Existing", 10));
+
+        BeerImportReportDTO report = beerImportService.importCsv(input("""
+                name,brand,max,quantity,type
+                Import Pilsen,Csv,100,10,lager
+                Import Stout,Csv,100,20,STOUT
+                Import Pilsen,Csv,100,30,LAGER
+                Import Existing,Csv,100,40,ALE
+                Import Bad Max,Csv,lots,10,ALE
+                Import Bad Type,Csv,100,10,CIDER
+                Import Too Many,Csv,100,101,ALE
+                Import Short Row,Csv
+                """));
+
+        assertThat(report.getRead(), equalTo(8L));
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getDuplicates(), equalTo(2L));
+        assertThat(report.getInvalid(), equalTo(4L));
+        assertThat(beerService.findByName("Import Pilsen").getQuantity(), equalTo(10));
+        assertThat(beerService.findByName("Import Stout").getType(), equalTo(BeerType.STOUT));
+        assertThat(beerService.findByName("Import Existing").getQuantity(), equalTo(10));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName("Import Too Many"));
+    }
+
+    @Test
+    void csvWithoutTheRequiredColumnsIsRejected() {
+        assertThrows(IOException.class, () -> beerImportService.importCsv(input("name,brand\nImport Headless,Csv\n")));
+    }
+
+    @Test
+    void malformedJsonRecordsAreCountedAsInvalidAndSkipped() throws Exception {
+        BeerImportReportDTO report = beerImportService.importJson(input("""
+                [
+                  {"name": "Import Json First", "brand": "Json", "max": 100, "quantity": 10, "type": "IPA"},
+                  {"name": "Import Json Bad Max", "brand": "Json", "max": "lots", "quantity": 10, "type": "IPA"},
+                  "not a beer",
+                  [{"name": "Import Json Nested", "brand": "Json", "max": 100, "quantity": 10, "type": "IPA"}],
+                  {"name": "Import Json Bad Type", "brand": "Json", "max": 100, "quantity": 10, "type": "CIDER"},
+                  {"name": "Import Json Last", "brand": "Json", "max": 100, "quantity": 20, "type": "IPA"}
+                ]
+                """));
+
+        assertThat(report.getRead(), equalTo(6L));
+        assertThat(report.getImported(), equalTo(2L));
+        assertThat(report.getInvalid(), equalTo(4L));
+        assertThat(beerService.findByName("Import Json Last").getQuantity(), equalTo(20));
+        assertThrows(BeerNotFoundException.class, () -> beerService.findByName("Import Json Nested"));
+    }
+
+    @Test
+    void idsInTheInputNeverOverwriteExistingBeers() throws Exception {
+        BeerDTO existing = beerService.createBeer(beer("Import Owner", 15));
+        BeerDTO intruder = beer("Import Intruder", 99);
+        intruder.setId(existing.getId());
+
+        BeerImportReportDTO report = beerImportService.importJson(new ByteArrayInputStream(
+                objectMapper.writeValueAsBytes(List.of(intruder, beer("Import Json", 5)))));
+
+        assertThat(report.getImported(), equalTo(2L));
+        BeerDTO owner = beerService.findByName("Import Owner");
+        assertThat(owner.getId(), equalTo(existing.getId()));
+        assertThat(owner.getQuantity(), equalTo(15));
+        assertThat(beerService.findByName("Import Intruder").getId(), not(equalTo(existing.getId())));
+    }
+
+    private static BeerDTO beer(String name, int quantity) {
+        return BeerDTO.builder().name(name).brand("Json").max(100).quantity(quantity).type(BeerType.IPA).build();
+    }
+
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BeerServiceConcurrencyTests {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void concurrentIncrementsNeverExceedMaxNorLoseUpdates() throws Exception {
+        BeerDTO beer = createBeer("Concurrent Increment", 500, 0);
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                try {
+                    beerService.increment(beer.getId(), 1);
+                    applied.incrementAndGet();
+                } catch (BeerStockExceededException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertThat(applied.get(), equalTo(500));
+        assertThat(rejected.get(), equalTo(THREADS * OPERATIONS_PER_THREAD - 500));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(500));
+    }
+
+    @Test
+    void concurrentIncrementsAndDecrementsKeepStockBalanced() throws Exception {
+        // Headroom of THREADS * OPERATIONS_PER_THREAD each way, so no interleaving can hit either bound.
+        int max = 2 * THREADS * OPERATIONS_PER_THREAD;
+        BeerDTO beer = createBeer("Concurrent Balance", max, max / 2);
+        AtomicInteger turn = new AtomicInteger();
+
+        runConcurrently(THREADS, () -> {
+            boolean incrementing = turn.getAndIncrement() % 2 == 0;
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                if (incrementing) {
+                    beerService.increment(beer.getId(), 1);
+                } else {
+                    beerService.decrement(beer.getId(), 1);
+                }
+            }
+            return null;
+        });
+
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(max / 2));
+    }
+
+    private BeerDTO createBeer(String name, int max, int quantity) throws Exception {
+        return beerService.createBeer(BeerDTO.builder()
+                .name(name)
+                .brand("Concurrency")
+                .max(max)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build());
+    }
+
+    private void runConcurrently(int threads, Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementResultDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.StockMovementStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BeerServiceStockMovementTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void movementsAreNettedPerBeerAndReportedWithoutAbortingTheBatch() throws Exception {
+        BeerDTO first = createBeer("Movement One", 50, 10);
+        BeerDTO second = createBeer("Movement Two", 20, 15);
+        long missingId = Long.MAX_VALUE;
+
+        List<StockMovementResultDTO> results = beerService.applyStockMovements(List.of(
+                new StockMovementDTO(first.getId(), 30),
+                new StockMovementDTO(second.getId(), 10),
+                new StockMovementDTO(missingId, 1),
+                new StockMovementDTO(first.getId(), -5)));
+
+        assertThat(results.stream().map(StockMovementResultDTO::getId).toList(),
+                contains(first.getId(), second.getId(), missingId));
+        assertThat(results.get(0).getDelta(), equalTo(25));
+        assertThat(results.get(0).getStatus(), equalTo(StockMovementStatus.APPLIED));
+        assertThat(results.get(0).getQuantity(), equalTo(35));
+        assertThat(results.get(1).getStatus(), equalTo(StockMovementStatus.EXCEEDED));
+        assertThat(results.get(1).getQuantity(), nullValue());
+        assertThat(results.get(2).getStatus(), equalTo(StockMovementStatus.NOT_FOUND));
+
+        assertThat(beerService.findByName(first.getName()).getQuantity(), equalTo(35));
+        assertThat(beerService.findByName(second.getName()).getQuantity(), equalTo(15));
+    }
+
+    @Test
+    void beerNettingPastTheIntegerRangeIsExceededWithoutFailingTheBatch() throws Exception {
+        BeerDTO overflowing = createBeer("Movement Overflow", 50, 10);
+        BeerDTO other = createBeer("Movement Beside Overflow", 50, 10);
+
+        List<StockMovementResultDTO> results = beerService.applyStockMovements(List.of(
+                new StockMovementDTO(overflowing.getId(), Integer.MAX_VALUE),
+                new StockMovementDTO(other.getId(), 5),
+                new StockMovementDTO(overflowing.getId(), 1)));
+
+        assertThat(results.stream().map(StockMovementResultDTO::getId).toList(),
+                contains(overflowing.getId(), other.getId()));
+        assertThat(results.get(0).getStatus(), equalTo(StockMovementStatus.EXCEEDED));
+        assertThat(results.get(0).getDelta(), equalTo(Integer.MAX_VALUE));
+        assertThat(results.get(1).getStatus(), equalTo(StockMovementStatus.APPLIED));
+        assertThat(beerService.findByName(overflowing.getName()).getQuantity(), equalTo(10));
+        assertThat(beerService.findByName(other.getName()).getQuantity(), equalTo(15));
+    }
+
+    private BeerDTO createBeer(String name, int max, int quantity) throws Exception {
+        return beerService.createBeer(BeerDTO.builder()
+                .name(name)
+                .brand("Movements")
+                .max(max)
+                .quantity(quantity)
+                .type(BeerType.IPA)
+                .build());
+    }
+}
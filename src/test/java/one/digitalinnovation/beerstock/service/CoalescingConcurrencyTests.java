@@ -0,0 +1,100 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.stock.CoalescingStockStore;
+import one.digitalinnovation.beerstock.stock.StockStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:coalescing;DB_CLOSE_DELAY=-1",
+        "beerstock.stock.coalescing.enabled=true",
+        "beerstock.stock.coalescing.window=1ms"
+})
+class CoalescingConcurrencyTests extends BeerServiceConcurrencyTests {
+
+    private static final int CLIENTS = 200;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private StockStore stockStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentDecrementsOfOneBeerAreBatchedAndStopAtZero() throws Exception {
+        assertThat(stockStore, instanceOf(CoalescingStockStore.class));
+        BeerDTO beer = beerService.createBeer(BeerDTO.builder()
+                .name("Promotion")
+                .brand("Concurrency")
+                .max(100)
+                .quantity(100)
+                .type(BeerType.IPA)
+                .build());
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        beerService.decrement(beer.getId(), 1);
+                        applied.incrementAndGet();
+                    } catch (BeerStockExceededException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(applied.get(), equalTo(100));
+        assertThat(rejected.get(), equalTo(CLIENTS - 100));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(0));
+        DistributionSummary batchSize = meterRegistry.get("beerstock.stock.coalescing.batch.size").summary();
+        assertThat(batchSize.max(), greaterThan(1.0));
+        assertThat(meterRegistry.get("beerstock.stock.coalescing.lanes").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    void adjustingUnknownIdsLeavesNoLanesBehind() {
+        for (long id = 1_000_000; id < 1_000_100; id++) {
+            long unknownId = id;
+            assertThrows(BeerNotFoundException.class, () -> beerService.increment(unknownId, 1));
+        }
+        assertThat(meterRegistry.get("beerstock.stock.coalescing.lanes").gauge().value(), equalTo(0.0));
+    }
+}
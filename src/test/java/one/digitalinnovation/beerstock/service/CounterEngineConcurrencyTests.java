@@ -0,0 +1,54 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.stock.CounterEngineStockStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:counter-engine;DB_CLOSE_DELAY=-1",
+        "beerstock.stock.mode=counter-engine",
+        "beerstock.stock.counter-engine.durability=write-behind",
+        "beerstock.stock.counter-engine.flush-interval=1h"
+})
+class CounterEngineConcurrencyTests extends BeerServiceConcurrencyTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private CounterEngineStockStore counterEngineStockStore;
+
+    @Test
+    void flushWritesCoalescedQuantitiesToRepository() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTO.builder()
+                .name("Write Behind")
+                .brand("Concurrency")
+                .max(100)
+                .quantity(10)
+                .type(BeerType.STOUT)
+                .build());
+
+        String eTag = beerService.catalogETag();
+        beerService.increment(beer.getId(), 30);
+        assertThat(beerService.catalogETag(), not(equalTo(eTag)));
+        beerService.decrement(beer.getId(), 5);
+
+        assertThat(beerRepository.findById(beer.getId()).orElseThrow().getQuantity(), equalTo(10));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(35));
+
+        counterEngineStockStore.flush();
+
+        assertThat(beerRepository.findById(beer.getId()).orElseThrow().getQuantity(), equalTo(35));
+    }
+}
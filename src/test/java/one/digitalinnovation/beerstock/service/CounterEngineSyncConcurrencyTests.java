@@ -0,0 +1,94 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:counter-engine-sync;DB_CLOSE_DELAY=-1",
+        "beerstock.stock.mode=counter-engine",
+        "beerstock.stock.counter-engine.durability=sync"
+})
+class CounterEngineSyncConcurrencyTests extends BeerServiceConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectedWriteThroughTakesBackOnlyItsOwnDelta() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTO.builder()
+                .name("Write Through Rejected")
+                .brand("Concurrency")
+                .max(1000)
+                .quantity(500)
+                .type(BeerType.LAGER)
+                .build());
+        // The row moves behind the counter's back, so increments pass the counter but not the database.
+        jdbcTemplate.update("update beer set quantity = 1000 where id = ?", beer.getId());
+
+        assertThrows(BeerStockExceededException.class, () -> beerService.increment(beer.getId(), 1));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(500));
+
+        AtomicInteger applied = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                boolean incrementing = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                        try {
+                            if (incrementing) {
+                                beerService.increment(beer.getId(), 1);
+                                applied.incrementAndGet();
+                            } else {
+                                beerService.decrement(beer.getId(), 1);
+                                applied.decrementAndGet();
+                            }
+                        } catch (BeerStockExceededException e) {
+                            // rejected by the database, the counter must not keep it
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(beerRepository.findById(beer.getId()).orElseThrow().getQuantity(), equalTo(1000 + applied.get()));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(500 + applied.get()));
+    }
+}
@@ -0,0 +1,63 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.stock.LedgerStockStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ledger;DB_CLOSE_DELAY=-1",
+        "beerstock.stock.mode=ledger",
+        "beerstock.stock.ledger.snapshot-interval=1h"
+})
+class LedgerConcurrencyTests extends BeerServiceConcurrencyTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private LedgerStockStore ledgerStockStore;
+
+    @Test
+    void snapshotFoldsMovementsAndHistoryAnswersPointInTime() throws Exception {
+        BeerDTO beer = beerService.createBeer(BeerDTO.builder()
+                .name("Ledger History")
+                .brand("Concurrency")
+                .max(100)
+                .quantity(10)
+                .type(BeerType.STOUT)
+                .build());
+
+        Instant beforeMovements = Instant.now();
+        Thread.sleep(5);
+        String eTag = beerService.catalogETag();
+        beerService.increment(beer.getId(), 30);
+        assertThat(beerService.catalogETag(), not(equalTo(eTag)));
+        Thread.sleep(5);
+        Instant afterIncrement = Instant.now();
+        Thread.sleep(5);
+        beerService.decrement(beer.getId(), 5);
+
+        assertThat(beerRepository.findById(beer.getId()).orElseThrow().getQuantity(), equalTo(10));
+        assertThat(beerService.findByName(beer.getName()).getQuantity(), equalTo(35));
+
+        ledgerStockStore.snapshot();
+
+        assertThat(beerRepository.findById(beer.getId()).orElseThrow().getQuantity(), equalTo(35));
+        assertThat(beerService.quantityAt(beer.getId(), beforeMovements).getQuantity(), equalTo(10));
+        assertThat(beerService.quantityAt(beer.getId(), afterIncrement).getQuantity(), equalTo(40));
+        assertThat(beerService.quantityAt(beer.getId(), Instant.now()).getQuantity(), equalTo(35));
+    }
+}
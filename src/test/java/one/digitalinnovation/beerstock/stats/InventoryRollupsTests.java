@@ -0,0 +1,128 @@
+package one.digitalinnovation.beerstock.stats;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.InventoryMismatchDTO;
+import one.digitalinnovation.beerstock.dto.InventoryRollupDTO;
+import one.digitalinnovation.beerstock.dto.InventoryStatsDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-stats;DB_CLOSE_DELAY=-1",
+        "beerstock.stats.rebuild-chunk-size=2",
+        "beerstock.stats.rebuild-parallelism=2"})
+class InventoryRollupsTests {
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private InventoryRollups inventoryRollups;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rollupsFollowEveryChangeAndMatchTheDatabaseAfterARebuild() throws Exception {
+        InventoryRollupDTO before = beerService.inventoryStats().getTotal();
+        BeerDTO first = create("Stats Stout 1", "Stats Brewery", BeerType.STOUT, 20, 50);
+        create("Stats Stout 2", "Stats Brewery", BeerType.STOUT, 30, 50);
+        BeerDTO witbier = create("Stats Witbier", "Stats Other", BeerType.WITBIER, 5, 100);
+        BeerDTO removed = create("Stats Removed", "Stats Gone", BeerType.STOUT, 10, 10);
+        beerService.decrement(first.getId(), 8);
+        beerService.increment(witbier.getId(), 15);
+        beerService.deleteById(removed.getId());
+
+        InventoryStatsDTO stats = beerService.inventoryStats();
+        assertRollup(type(stats, BeerType.STOUT), 2, 42, 100);
+        assertRollup(type(stats, BeerType.WITBIER), 1, 20, 100);
+        assertRollup(stats.getTotal(), before.getSkus() + 3, before.getQuantity() + 62, before.getCapacity() + 200);
+        assertThat(type(stats, BeerType.STOUT).getFillRatio(), closeTo(0.42, 1e-9));
+        assertThat(stats.getBrands().stream().map(InventoryRollupDTO::getName).toList(),
+                allOf(hasItems("Stats Brewery", "Stats Other"), not(hasItem("Stats Gone"))));
+        assertThat(beerService.checkInventoryStats(), empty());
+
+        inventoryRollups.rebuild();
+        assertThat(beerService.inventoryStats(), equalTo(stats));
+    }
+
+    @Test
+    void checkReportsWritesThatBypassedTheService() throws Exception {
+        BeerDTO beer = create("Stats Bypassed", "Stats Bypass", BeerType.IPA, 10, 40);
+        jdbcTemplate.update("update beer set quantity = quantity - 3 where id = ?", beer.getId());
+
+        List<InventoryMismatchDTO> mismatches = beerService.checkInventoryStats();
+        assertThat(mismatches.stream().map(mismatch -> mismatch.getDimension() + ":" + mismatch.getName()).toList(),
+                containsInAnyOrder("type:IPA", "brand:Stats Bypass"));
+
+        inventoryRollups.rebuild();
+        assertThat(beerService.checkInventoryStats(), empty());
+    }
+
+    @Test
+    void changesCommittedDuringARebuildAreNeitherLostNorCountedTwice() throws Exception {
+        BeerDTO readAfter = create("Stats Read After", "Stats Rebuild", BeerType.MALZBIER, 10, 50);
+        BeerDTO deletedAfter = create("Stats Deleted After", "Stats Rebuild", BeerType.MALZBIER, 4, 50);
+
+        inventoryRollups.rebuild(
+                unchecked(() -> {
+                    // Committed before the chunks are read, so already in the new totals.
+                    beerService.decrement(readAfter.getId(), 3);
+                    return create("Stats Created Before Read", "Stats Rebuild", BeerType.MALZBIER, 7, 50);
+                }),
+                unchecked(() -> {
+                    // Committed after every chunk was read, so only the buffered deltas bring them in.
+                    beerService.increment(readAfter.getId(), 5);
+                    beerService.deleteById(deletedAfter.getId());
+                    return create("Stats Created After Read", "Stats Rebuild", BeerType.MALZBIER, 9, 50);
+                }));
+
+        assertThat(beerService.checkInventoryStats(), empty());
+        assertThat(brand(beerService.inventoryStats(), "Stats Rebuild").getQuantity(), equalTo(28L));
+    }
+
+    private BeerDTO create(String name, String brand, BeerType type, int quantity, int max) throws Exception {
+        return beerService.createBeer(BeerDTO.builder().name(name).brand(brand).max(max).quantity(quantity).type(type).build());
+    }
+
+    private static Runnable unchecked(Callable<?> changes) {
+        return () -> {
+            try {
+                changes.call();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static InventoryRollupDTO brand(InventoryStatsDTO stats, String brand) {
+        return stats.getBrands().stream().filter(rollup -> rollup.getName().equals(brand)).findFirst().orElseThrow();
+    }
+
+    private static InventoryRollupDTO type(InventoryStatsDTO stats, BeerType type) {
+        return stats.getTypes().get(type.ordinal());
+    }
+
+    private static void assertRollup(InventoryRollupDTO rollup, long skus, long quantity, long capacity) {
+        assertThat(rollup.getSkus(), equalTo(skus));
+        assertThat(rollup.getQuantity(), equalTo(quantity));
+        assertThat(rollup.getCapacity(), equalTo(capacity));
+    }
+}
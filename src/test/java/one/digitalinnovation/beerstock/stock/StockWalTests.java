@@ -0,0 +1,107 @@
+package one.digitalinnovation.beerstock.stock;
+
+import one.digitalinnovation.beerstock.config.StockProperties;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StockWalTests {
+
+    @TempDir
+    Path directory;
+
+    private final Map<Long, Beer> state = new LinkedHashMap<>();
+
+    @Test
+    void replayRestoresCreatesDeltasAndDeletes() throws Exception {
+        StockWal wal = open(DataSize.ofKilobytes(64));
+        wal.replay();
+        wal.checkpoint();
+        create(wal, beer(1L, "Brahma", 10));
+        create(wal, beer(2L, "Skol", 20));
+        adjust(wal, 1L, 5);
+        adjust(wal, 1L, -2);
+        wal.delete(2L, () -> state.remove(2L));
+        wal.close();
+
+        StockWal.Replay replay = open(DataSize.ofKilobytes(64)).replay();
+
+        assertThat(replay.beers().keySet(), contains(1L));
+        assertThat(replay.beers().get(1L).getQuantity(), equalTo(13));
+        assertThat(replay.beers().get(1L).getName(), equalTo("Brahma"));
+        assertThat(replay.deleted(), contains(2L));
+    }
+
+    @Test
+    void rejectedAdjustmentLeavesAHoleThatReplaySkips() throws Exception {
+        StockWal wal = open(DataSize.ofKilobytes(64));
+        wal.replay();
+        wal.checkpoint();
+        create(wal, beer(1L, "Brahma", 10));
+        assertThrows(BeerStockExceededException.class, () -> wal.adjust(1L, -50, () -> {
+            throw new BeerStockExceededException(1L, 50);
+        }));
+        adjust(wal, 1L, 1);
+        wal.close();
+
+        StockWal.Replay replay = open(DataSize.ofKilobytes(64)).replay();
+
+        assertThat(replay.beers().get(1L).getQuantity(), equalTo(11));
+    }
+
+    @Test
+    void fullSegmentIsCheckpointedAndCompacted() throws Exception {
+        StockWal wal = open(DataSize.ofKilobytes(1));
+        wal.replay();
+        wal.checkpoint();
+        create(wal, beer(1L, "Brahma", 0));
+        for (int i = 0; i < 500; i++) {
+            adjust(wal, 1L, 1);
+        }
+        wal.close();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files.count(), equalTo(1L));
+        }
+        assertThat(open(DataSize.ofKilobytes(1)).replay().beers().get(1L).getQuantity(), equalTo(500));
+    }
+
+    private StockWal open(DataSize segmentSize) {
+        StockProperties.Wal properties = new StockProperties.Wal();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        properties.setFsync(StockProperties.FsyncPolicy.OS);
+        return new StockWal(properties, () -> state.values().stream()
+                .map(beer -> new Beer(beer.getId(), beer.getName(), beer.getBrand(), beer.getMax(), beer.getQuantity(), beer.getType(), 0, 0))
+                .toList());
+    }
+
+    private void create(StockWal wal, Beer beer) {
+        wal.create(beer, () -> state.put(beer.getId(), beer));
+    }
+
+    private void adjust(StockWal wal, long id, int delta) throws Exception {
+        wal.adjust(id, delta, () -> {
+            Beer beer = state.get(id);
+            beer.setQuantity(beer.getQuantity() + delta);
+            return beer.getQuantity();
+        });
+    }
+
+    private static Beer beer(Long id, String name, int quantity) {
+        return new Beer(id, name, "Ambev", 1000, quantity, BeerType.LAGER, 0, 0);
+    }
+}
@@ -0,0 +1,134 @@
+package one.digitalinnovation.beerstock.stream;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:beer-stream;DB_CLOSE_DELAY=-1",
+        "beerstock.stream.buffer-size=4"})
+class BeerEventStreamTests {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Test
+    void subscribersReceiveEveryChangeInOrder() throws Exception {
+        BlockingQueue<String> events = subscribe(null);
+        BeerDTO beer = create("Stream Stout");
+        beerService.decrement(beer.getId(), 3);
+        beerService.deleteById(beer.getId());
+
+        assertThat(nextEvent(events), equalTo("created"));
+        assertThat(nextData(events), containsString("\"quantity\":10,\"delta\":10"));
+        assertThat(nextEvent(events), equalTo("stock-changed"));
+        assertThat(nextData(events), containsString("\"quantity\":7,\"delta\":-3"));
+        assertThat(nextEvent(events), equalTo("deleted"));
+        assertThat(nextData(events), containsString("\"name\":\"Stream Stout\""));
+    }
+
+    @Test
+    void subscriberResumingWithinTheBufferGetsWhatItMissed() throws Exception {
+        BlockingQueue<String> first = subscribe(null);
+        BeerDTO beer = create("Stream Resume");
+        String lastEventId = nextField(first, "id: ");
+        beerService.increment(beer.getId(), 2);
+
+        BlockingQueue<String> resumed = subscribe(lastEventId);
+        assertThat(nextEvent(resumed), equalTo("stock-changed"));
+        assertThat(nextData(resumed), containsString("\"quantity\":12"));
+    }
+
+    @Test
+    void subscriberResumingBeyondTheBufferIsToldToResync() throws Exception {
+        BlockingQueue<String> first = subscribe(null);
+        BeerDTO beer = create("Stream Resync");
+        String lastEventId = nextField(first, "id: ");
+        for (int i = 0; i < 8; i++) {
+            beerService.increment(beer.getId(), 1);
+        }
+
+        BlockingQueue<String> events = subscribe(lastEventId);
+        assertThat(nextEvent(events), equalTo("resync"));
+        assertThat(nextData(events), not(equalTo("{\"missed\":0}")));
+
+        beerService.increment(beer.getId(), 1);
+        assertThat(nextEvent(events), equalTo("stock-changed"));
+        assertThat(nextData(events), containsString("\"quantity\":19"));
+    }
+
+    @Test
+    void subscriberResumingAnIdFromAnotherBootIsToldToResync() throws Exception {
+        BeerDTO beer = create("Stream Restart");
+
+        // Sequences restart with the process, so a low id alone would look resumable.
+        BlockingQueue<String> events = subscribe("earlierboot-1");
+        assertThat(nextEvent(events), equalTo("resync"));
+        assertThat(nextData(events), startsWith("{\"missed\":"));
+
+        beerService.increment(beer.getId(), 1);
+        assertThat(nextEvent(events), equalTo("stock-changed"));
+        assertThat(nextData(events), containsString("\"quantity\":11"));
+    }
+
+    private BeerDTO create(String name) throws Exception {
+        return beerService.createBeer(BeerDTO.builder().name(name).brand("Stream").max(50).quantity(10)
+                .type(BeerType.STOUT).build());
+    }
+
+    private BlockingQueue<String> subscribe(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beers/stream"));
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode(), equalTo(200));
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> response.body().forEach(lines::add));
+        return lines;
+    }
+
+    private static String nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        return nextField(lines, "event: ");
+    }
+
+    private static String nextData(BlockingQueue<String> lines) throws InterruptedException {
+        return nextField(lines, "data: ");
+    }
+
+    private static String nextField(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            if (line == null) {
+                throw new AssertionError("No " + prefix.trim() + " line within 10 seconds");
+            }
+            if (line.startsWith(prefix)) {
+                return line.substring(prefix.length());
+            }
+        }
+    }
+}